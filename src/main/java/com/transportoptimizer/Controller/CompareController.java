@@ -1,28 +1,43 @@
 package com.transportoptimizer.Controller;
 
 import com.transportoptimizer.Services.CompareSnapshotStore;
+import com.transportoptimizer.Services.PlaceSuggestService;
 import com.transportoptimizer.Services.PriceComparisonServices;
 import com.transportoptimizer.Services.RecommendationService;
 import com.transportoptimizer.Repository.FareHistoryRepository;
 
+import com.transportoptimizer.dto.BatchCompareRequestDTO;
+import com.transportoptimizer.dto.BatchCompareResponseDTO;
 import com.transportoptimizer.dto.ChooseRequest;
 import com.transportoptimizer.dto.CompareRequestDTO;
 import com.transportoptimizer.dto.CompareResponseDTO;
 import com.transportoptimizer.dto.ProviderFareDTO;
+import com.transportoptimizer.dto.ProviderFaresEventDTO;
 
 import com.transportoptimizer.entity.*;
+import com.transportoptimizer.util.DtoMapper;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
@@ -37,78 +52,215 @@ public class CompareController {
     private final RecommendationService recommendationService;
     private final FareHistoryRepository fareHistoryRepository;
     private final CompareSnapshotStore snapshotStore;
+    private final PlaceSuggestService placeSuggestService;
+
+    @Qualifier("compareExecutor")
+    private final ExecutorService compareExecutor;
+
+    @Qualifier("sseExecutor")
+    private final ExecutorService sseExecutor;
+
+    @Value("${compare.stream.timeout-ms:30000}")
+    private long streamTimeoutMs;
+
+    @Value("${compare.stream.max-pending-events:64}")
+    private int streamMaxPendingEvents;
 
     // =========================
     // PREVIEW ONLY (NO SAVE)
     // =========================
     @PostMapping
-    public ResponseEntity<CompareResponseDTO> compare(
+    public CompletableFuture<ResponseEntity<CompareResponseDTO>> compare(
             @Valid @RequestBody CompareRequestDTO dto) {
 
-        try {
-            TripRequest trip = TripRequest.builder()
-                    .requestId(UUID.randomUUID().toString())
-                    .origin(dto.getOrigin())
-                    .destination(dto.getDestination())
-                    .userId(dto.getUserId())
-                    .preferCheapest(dto.isPreferCheapest())
-                    .preferFastest(dto.isPreferFastest())
-                    .departureTime(dto.getDepartureTime())
-                    .build();
-
-            String snapshotId = UUID.randomUUID().toString();
+        TripRequest trip = toTripRequest(dto);
+
+        // servlet thread is released here, response is written on completion
+        // a rejected stage → 503 + Retry-After (GlobalExceptionHandler)
+        return fareComparisonService.compareFaresAsync(trip)
+                .thenApplyAsync(estimate -> {
+                    String snapshotId = snapshotStore.issue(estimate);
+
+                    Suggestion suggestion =
+                            recommendationService.recommendBestMode(estimate, trip);
+
+                    return ResponseEntity.ok(toResponse(trip, snapshotId, estimate, suggestion));
+                }, compareExecutor)
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+                            ? ex.getCause() : ex;
+                    // a later stage rejected by a saturated pool → same 503 as an upfront rejection
+                    if (cause instanceof RejectedExecutionException rejected) {
+                        throw rejected;
+                    }
+                    log.error("Compare failed", ex);
+                    throw new ResponseStatusException(
+                            INTERNAL_SERVER_ERROR, "Compare failed");
+                });
+    }
 
-            FareEstimate estimate =fareComparisonService.compareFares(trip);
-            snapshotStore.save(snapshotId, estimate);
+    // =========================
+    // STREAMING PREVIEW (SSE)
+    // "fares" event per provider, then one "result" event
+    // =========================
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter compareStream(
+            @Valid @RequestBody CompareRequestDTO dto) {
 
-            Suggestion suggestion =
-                    recommendationService.recommendBestMode(estimate, trip);
+        TripRequest trip = toTripRequest(dto);
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        // events are only queued here, written on the sse pool
+        SseEventSender sender = new SseEventSender(emitter, sseExecutor, streamMaxPendingEvents);
+
+        // pool saturated → RejectedExecutionException → 503 + Retry-After (GlobalExceptionHandler)
+        Future<?> task = compareExecutor.submit(() -> {
+            try {
+                FareEstimate estimate = fareComparisonService.compareFaresStreaming(
+                        trip,
+                        (providerId, fares) -> sender.send("fares",
+                                ProviderFaresEventDTO.builder()
+                                        .requestId(trip.getRequestId())
+                                        .providerId(providerId)
+                                        .fares(fares.stream()
+                                                .map(this::toFareDto)
+                                                .collect(Collectors.toList()))
+                                        .build())
+                );
+
+                String snapshotId = snapshotStore.issue(estimate);
+
+                Suggestion suggestion =
+                        recommendationService.recommendBestMode(estimate, trip);
+
+                sender.send("result", toResponse(trip, snapshotId, estimate, suggestion));
+                sender.complete();
+
+            } catch (Exception e) {
+                if (!sender.isClosed()) {
+                    log.error("Streaming compare failed", e);
+                    sender.completeWithError(e);
+                }
+            }
+        });
 
-            CompareResponseDTO response = CompareResponseDTO.builder()
-                    .requestId(trip.getRequestId())
-                    .snapshotId(snapshotId)
-                    .origin(estimate.getOrigin())
-                    .destination(estimate.getDestination())
-                    .totalDistanceKm(estimate.getTotalDistanceKm())
-                    .sortedFares(
-                            estimate.getProviderFares().stream()
-                                    .map(f -> new ProviderFareDTO(
-                                            f.getProviderId(),
-                                            f.getProviderName(),
-                                            f.getPrice(),
-                                            f.getEtaMinutes(),
-                                            f.isSurge(),
-                                            f.getMetadata(),
-                                            f.getVehicleType()
-                                    ))
-                                    .collect(Collectors.toList())
-                    )
-                    .recommendation(
-                            CompareResponseDTO.RecommendationMeta.builder()
-                                    .chosenProviderId(
-                                            suggestion.getChosenProviderId())
-                                    .confidenceScore(
-                                            suggestion.getConfidenceScore())
-                                    .reason(suggestion.getReason())
-                                    .build()
-                    )
-                    .meta(
-                            CompareResponseDTO.ResponseMeta.builder()
-                                    .timestamp(Instant.now())
-                                    .serviceVersion("v1.0")
-                                    .traceId("TRACE-" + System.currentTimeMillis())
-                                    .build()
-                    )
-                    .build();
+        // client gone (disconnect, timeout, failed write, too slow) → stop sending and
+        // interrupt the compare: it unsubscribes, and cancels the provider calls if nobody else listens
+        sender.onClose(() -> task.cancel(true));
+        emitter.onCompletion(sender::close);
+        emitter.onTimeout(sender::close);
+        emitter.onError(e -> sender.close());
 
-            return ResponseEntity.ok(response);
+        return emitter;
+    }
 
-        } catch (Exception e) {
-            log.error("Compare failed", e);
-            throw new ResponseStatusException(
-                    INTERNAL_SERVER_ERROR, "Compare failed");
+    // =========================
+    // BATCH PREVIEW (MANY TRIPS, ONE CALL)
+    // =========================
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCompareResponseDTO> compareBatch(
+            @Valid @RequestBody BatchCompareRequestDTO body) throws InterruptedException {
+
+        List<TripRequest> trips = body.getTrips().stream()
+                .map(this::toTripRequest)
+                .collect(Collectors.toList());
+
+        List<CompletableFuture<FareEstimate>> estimates =
+                fareComparisonService.compareFaresBatch(trips);
+
+        List<BatchCompareResponseDTO.TripResult> results = new ArrayList<>(trips.size());
+        int failed = 0;
+
+        for (int i = 0; i < trips.size(); i++) {
+            TripRequest trip = trips.get(i);
+            try {
+                FareEstimate estimate = estimates.get(i).join();
+
+                String snapshotId = snapshotStore.issue(estimate);
+
+                Suggestion suggestion =
+                        recommendationService.recommendBestMode(estimate, trip);
+
+                results.add(BatchCompareResponseDTO.TripResult.builder()
+                        .index(i)
+                        .status("OK")
+                        .result(toResponse(trip, snapshotId, estimate, suggestion))
+                        .build());
+
+            } catch (Exception e) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null
+                        ? e.getCause() : e;
+                log.warn("Batch trip {} failed: {}", i, cause.getMessage());
+                failed++;
+                results.add(BatchCompareResponseDTO.TripResult.builder()
+                        .index(i)
+                        .status("ERROR")
+                        .error(cause.getMessage())
+                        .build());
+            }
         }
+
+        return ResponseEntity.ok(BatchCompareResponseDTO.builder()
+                .total(trips.size())
+                .succeeded(trips.size() - failed)
+                .failed(failed)
+                .results(results)
+                .build());
+    }
+
+    private TripRequest toTripRequest(CompareRequestDTO dto) {
+        return TripRequest.builder()
+                .requestId(UUID.randomUUID().toString())
+                // canonical place ids from /places/suggest → one spelling per place
+                .origin(placeSuggestService.canonicalText(dto.getOrigin()))
+                .destination(placeSuggestService.canonicalText(dto.getDestination()))
+                .userId(dto.getUserId())
+                .preferCheapest(dto.isPreferCheapest())
+                .preferFastest(dto.isPreferFastest())
+                .departureTime(dto.getDepartureTime())
+                .build();
     }
+
+    private CompareResponseDTO toResponse(
+            TripRequest trip,
+            String snapshotId,
+            FareEstimate estimate,
+            Suggestion suggestion
+    ) {
+        return CompareResponseDTO.builder()
+                .requestId(trip.getRequestId())
+                .snapshotId(snapshotId)
+                .origin(estimate.getOrigin())
+                .destination(estimate.getDestination())
+                .totalDistanceKm(estimate.getTotalDistanceKm())
+                .sortedFares(
+                        estimate.getProviderFares().stream()
+                                .map(this::toFareDto)
+                                .collect(Collectors.toList())
+                )
+                .recommendation(
+                        CompareResponseDTO.RecommendationMeta.builder()
+                                .chosenProviderId(
+                                        suggestion.getChosenProviderId())
+                                .confidenceScore(
+                                        suggestion.getConfidenceScore())
+                                .reason(suggestion.getReason())
+                                .build()
+                )
+                .meta(
+                        CompareResponseDTO.ResponseMeta.builder()
+                                .timestamp(Instant.now())
+                                .serviceVersion("v1.0")
+                                .traceId("TRACE-" + System.currentTimeMillis())
+                                .timedOutProviders(estimate.getTimedOutProviders())
+                                .build()
+                )
+                .build();
+    }
+
+    private ProviderFareDTO toFareDto(ProviderFare f) {
+        return DtoMapper.from(f);
+    }
+
     // =========================
 // SAVE USER CHOICE ONLY
 // =========================
@@ -133,24 +285,16 @@ public class CompareController {
                 return ResponseEntity.badRequest().build();
             }
 
-            ProviderFare chosenFare = estimate.getProviderFares()
-                    .stream()
-                    .filter(f -> f.getProviderId()
-                            .equals(body.getChosenProviderId()))
-                    .findFirst()
-                    .orElse(null);
+            // ranking is stored with the snapshot → O(1) lookups
+            FareRanking ranking = estimate.ranking();
+
+            ProviderFare chosenFare = ranking.byProviderId(body.getChosenProviderId());
 
             if (chosenFare == null) {
                 return ResponseEntity.badRequest().build();
             }
 
-            double maxPrice = estimate.getProviderFares()
-                    .stream()
-                    .mapToDouble(ProviderFare::getPrice)
-                    .max()
-                    .orElse(chosenFare.getPrice());
-
-            double savings = maxPrice - chosenFare.getPrice();
+            double savings = ranking.getMaxPrice() - chosenFare.getPrice();
 
             TripRequest trip = TripRequest.builder()
                     .origin(estimate.getOrigin())
@@ -158,13 +302,8 @@ public class CompareController {
                     .userId(body.getUserId())
                     .build();
 
-            // Fetch co2
-            Map<String, Object> meta = chosenFare.getMetadata();
-
-            Double co2 = null;
-            if (meta != null && meta.get("co2EmissionKg") instanceof Number) {
-                co2 = ((Number) meta.get("co2EmissionKg")).doubleValue();
-            }
+            // co2 is annotated on every fare by the compare pipeline
+            Double co2 = chosenFare.getCo2EmissionKg();
 
             // Walked Distance
 
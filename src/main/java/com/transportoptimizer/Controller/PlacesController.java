@@ -0,0 +1,30 @@
+package com.transportoptimizer.Controller;
+
+import com.transportoptimizer.Services.PlaceSuggestService;
+import com.transportoptimizer.dto.PlaceSuggestionDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/places")
+@RequiredArgsConstructor
+public class PlacesController {
+
+    private final PlaceSuggestService placeSuggestService;
+
+    /**
+     * Autocomplete: GET /api/v1/places/suggest?q=raj&limit=5
+     */
+    @GetMapping("/suggest")
+    public List<PlaceSuggestionDTO> suggest(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", defaultValue = "8") int limit
+    ) {
+        return placeSuggestService.suggest(query, limit);
+    }
+}
@@ -0,0 +1,129 @@
+package com.transportoptimizer.Controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes the events of one SSE stream in order, on the sender pool.
+ * Callers (provider threads, the compare thread) only enqueue, so a slow or
+ * gone client never blocks them. A client that falls too far behind, fails
+ * a write or can't get a sender thread is closed.
+ */
+@Slf4j
+final class SseEventSender {
+
+    private final SseEmitter emitter;
+    private final Executor executor;
+    private final int maxPending;
+
+    private final Queue<Action> queue = new ConcurrentLinkedQueue<>();
+    // queued + running actions; 0 → 1 schedules a drain, so one drain runs at a time
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile Runnable onClose = () -> { };
+
+    SseEventSender(SseEmitter emitter, Executor executor, int maxPending) {
+        this.emitter = emitter;
+        this.executor = executor;
+        this.maxPending = maxPending;
+    }
+
+    void send(String name, Object data) {
+        enqueue(e -> e.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON)));
+    }
+
+    // after every queued event
+    void complete() {
+        enqueue(SseEmitter::complete);
+    }
+
+    void completeWithError(Throwable error) {
+        enqueue(e -> e.completeWithError(error));
+    }
+
+    /**
+     * Called once when the stream is closed, by the client or by us.
+     */
+    void onClose(Runnable callback) {
+        onClose = callback;
+        if (closed.get()) {
+            callback.run();
+        }
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    // client gone → drop whatever is still queued
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            queue.clear();
+            onClose.run();
+        }
+    }
+
+    private void enqueue(Action action) {
+        if (closed.get()) {
+            return;
+        }
+        queue.add(action);
+        int queued = pending.incrementAndGet();
+        if (queued > maxPending) {
+            log.warn("SSE client too slow ({} events queued), closing the stream", queued);
+            abandon();
+        } else if (queued == 1) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                log.warn("No SSE sender thread available, closing the stream");
+                abandon();
+            }
+        }
+    }
+
+    // closed by us: the emitter may be stuck in a write → complete it on a sender thread, never the caller's
+    private void abandon() {
+        close();
+        try {
+            executor.execute(() -> {
+                try {
+                    emitter.complete();
+                } catch (Exception e) {
+                    log.debug("SSE complete failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the stream timeout completes it
+        }
+    }
+
+    private void drain() {
+        do {
+            Action action = queue.poll();
+            if (action != null && !closed.get()) {
+                try {
+                    action.run(emitter);
+                } catch (IOException | IllegalStateException e) {
+                    // disconnected or already completed
+                    log.debug("SSE write failed: {}", e.getMessage());
+                    close();
+                }
+            }
+        } while (pending.decrementAndGet() > 0);
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run(SseEmitter emitter) throws IOException;
+    }
+}
@@ -0,0 +1,7 @@
+package com.transportoptimizer.Repository;
+
+import com.transportoptimizer.entity.CompareSnapshotEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface CompareSnapshotRepository extends MongoRepository<CompareSnapshotEntry, String> {
+}
@@ -0,0 +1,7 @@
+package com.transportoptimizer.Repository;
+
+import com.transportoptimizer.entity.DistanceCacheEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface DistanceCacheRepository extends MongoRepository<DistanceCacheEntry, String> {
+}
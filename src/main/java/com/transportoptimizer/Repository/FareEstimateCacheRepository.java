@@ -1,14 +1,7 @@
 package com.transportoptimizer.Repository;
 
-import com.transportoptimizer.entity.FareEstimate;
+import com.transportoptimizer.entity.FareEstimateCacheEntry;
 import org.springframework.data.mongodb.repository.MongoRepository;
-import java.util.Optional;
 
-public interface FareEstimateCacheRepository extends MongoRepository<FareEstimate, String> {
-
-    Optional<FareEstimate> findByOriginAndDestinationAndTotalDistanceKm(
-            String origin,
-            String destination,
-            double totalDistanceKm
-    );
+public interface FareEstimateCacheRepository extends MongoRepository<FareEstimateCacheEntry, String> {
 }
@@ -1,27 +1,70 @@
 package com.transportoptimizer.Services;
 
+import com.transportoptimizer.Services.snapshot.SnapshotBackend;
+import com.transportoptimizer.Services.snapshot.SnapshotTokenCodec;
 import com.transportoptimizer.entity.FareEstimate;
-import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.UUID;
 
-@Data
+/**
+ * Compare results kept until the user picks a fare (/choose).
+ * snapshot.mode=store → random id, result kept in the {@code snapshot.backend};
+ * snapshot.mode=token → the result itself, HMAC-signed, is the id (nothing kept server-side,
+ * no backend bean is created).
+ */
+@Slf4j
 @Component
 public class CompareSnapshotStore {
 
-    private final Map<String, FareEstimate> store = new ConcurrentHashMap<>();
+    private final SnapshotBackend backend;
+    private final SnapshotTokenCodec tokens;
 
-    public void save(String snapshotId, FareEstimate estimate) {
-        store.put(snapshotId, estimate);
+    public CompareSnapshotStore(
+            ObjectProvider<SnapshotBackend> backends,
+            @Value("${snapshot.mode:store}") String mode,
+            @Value("${snapshot.token.secret:}") String secret,
+            @Value("${snapshot.ttl-minutes:30}") long ttlMinutes
+    ) {
+        if ("token".equalsIgnoreCase(mode)) {
+            this.backend = null;
+            this.tokens = new SnapshotTokenCodec(secret, ttlMinutes * 60);
+        } else if ("store".equalsIgnoreCase(mode)) {
+            this.backend = backends.getIfAvailable();
+            this.tokens = null;
+            if (backend == null) {
+                throw new IllegalStateException("snapshot.mode=store needs a snapshot.backend (memory | arena | mongo)");
+            }
+        } else {
+            throw new IllegalStateException("Unknown snapshot.mode '" + mode + "' (store | token)");
+        }
+        log.info("Compare snapshots: {}", tokens != null ? "signed tokens" : backend.getClass().getSimpleName());
     }
 
+    /**
+     * Snapshot id handed to the client (returned as snapshotId, sent back on /choose).
+     */
+    public String issue(FareEstimate estimate) {
+        if (tokens != null) {
+            return tokens.issue(estimate);
+        }
+        String snapshotId = UUID.randomUUID().toString();
+        backend.save(snapshotId, estimate);
+        return snapshotId;
+    }
+
+    // null when unknown, chosen already, expired or (token) not signed by us
     public FareEstimate get(String snapshotId) {
-        return store.get(snapshotId);
+        return tokens != null ? tokens.verify(snapshotId) : backend.get(snapshotId);
     }
 
+    // tokens are not tracked → nothing to remove (a token stays valid until it expires)
     public void remove(String snapshotId) {
-        store.remove(snapshotId);
+        if (tokens == null) {
+            backend.remove(snapshotId);
+        }
     }
 }
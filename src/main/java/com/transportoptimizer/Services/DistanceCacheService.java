@@ -0,0 +1,117 @@
+package com.transportoptimizer.Services;
+
+import com.transportoptimizer.Repository.DistanceCacheRepository;
+import com.transportoptimizer.entity.DistanceCacheEntry;
+import com.transportoptimizer.util.PlaceKeys;
+import com.transportoptimizer.util.TtlLruCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through cache for resolved road distances.
+ * L1 = bounded in-process LRU, L2 = Mongo collection shared by all instances.
+ * Road distances barely change → long max age, no departure-time bucket.
+ */
+@Service
+@Slf4j
+public class DistanceCacheService {
+
+    private final DistanceCacheRepository cacheRepository;
+    private final TtlLruCache<String, Double> l1;
+    private final long maxAgeMillis;
+    private final boolean symmetric;
+
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder l2Misses = new LongAdder();
+
+    public DistanceCacheService(
+            DistanceCacheRepository cacheRepository,
+            MeterRegistry meterRegistry,
+            @Value("${distance.cache.l1-max-size:50000}") int l1MaxSize,
+            @Value("${distance.cache.max-age-hours:720}") long maxAgeHours,
+            @Value("${distance.cache.symmetric:false}") boolean symmetric
+    ) {
+        this.cacheRepository = cacheRepository;
+        this.maxAgeMillis = maxAgeHours * 3_600_000L;
+        this.symmetric = symmetric;
+        this.l1 = new TtlLruCache<>(l1MaxSize, maxAgeMillis);
+
+        FunctionCounter.builder("distance.cache.l1.hits", l1, TtlLruCache::hits).register(meterRegistry);
+        FunctionCounter.builder("distance.cache.l1.misses", l1, TtlLruCache::misses).register(meterRegistry);
+        FunctionCounter.builder("distance.cache.l1.evictions", l1, TtlLruCache::evictions).register(meterRegistry);
+        Gauge.builder("distance.cache.l1.size", l1, TtlLruCache::size).register(meterRegistry);
+        FunctionCounter.builder("distance.cache.l2.hits", l2Hits, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("distance.cache.l2.misses", l2Misses, LongAdder::sum).register(meterRegistry);
+    }
+
+    /**
+     * normalized origin | normalized destination.
+     * Symmetric mode orders the pair, so A→B and B→A share one entry
+     * (one-way streets make this slightly off → opt-in).
+     */
+    public String routeKey(String origin, String destination) {
+        String from = PlaceKeys.normalize(origin);
+        String to = PlaceKeys.normalize(destination);
+        if (symmetric && from.compareTo(to) > 0) {
+            return to + '|' + from;
+        }
+        return from + '|' + to;
+    }
+
+    public Optional<Double> get(String origin, String destination) {
+        String key = routeKey(origin, destination);
+
+        Double local = l1.get(key);
+        if (local != null) {
+            return Optional.of(local);
+        }
+
+        try {
+            Optional<DistanceCacheEntry> entry = cacheRepository.findById(key);
+            long now = System.currentTimeMillis();
+
+            // staleness is judged on resolvedAt, so lowering max-age applies to old docs too
+            if (entry.isPresent() && entry.get().getResolvedAt() != null) {
+                long remaining = entry.get().getResolvedAt().toEpochMilli() + maxAgeMillis - now;
+                if (remaining > 0) {
+                    l2Hits.increment();
+                    double km = entry.get().getDistanceKm();
+                    l1.put(key, km, remaining);
+                    return Optional.of(km);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Distance cache lookup failed: {}", e.getMessage());
+        }
+
+        l2Misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String origin, String destination, double distanceKm) {
+        String key = routeKey(origin, destination);
+        l1.put(key, distanceKm);
+
+        try {
+            Instant now = Instant.now();
+            cacheRepository.save(DistanceCacheEntry.builder()
+                    .routeKey(key)
+                    .origin(origin)
+                    .destination(destination)
+                    .distanceKm(distanceKm)
+                    .resolvedAt(now)
+                    .expiresAt(now.plusMillis(maxAgeMillis))
+                    .build());
+        } catch (Exception e) {
+            log.error("Failed to cache distance: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.transportoptimizer.Services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-batches Distance Matrix lookups.
+ * Lookups arriving within a short window are merged into one
+ * origins × destinations request; each caller gets its own element back.
+ * Every cell of the matrix is billed, so lookups are grouped by origin and a
+ * request is cut before it bills more than twice the cells anyone asked for.
+ * Google limits: 25 origins, 25 destinations, 100 elements per request.
+ */
+@Component
+@Slf4j
+public class DistanceMatrixBatcher {
+
+    private final OkHttpClient http;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final String baseUrl;
+    private final String apiKey;
+    private final long windowMs;
+    private final int maxOrigins;
+    private final int maxDestinations;
+    private final int maxElements;
+
+    private final ScheduledExecutorService flusher =
+            Executors.newSingleThreadScheduledExecutor(daemonThreads("distance-batch-"));
+    private final ExecutorService senders;
+
+    private final Counter matrixRequests;
+    private final Counter matrixLookups;
+
+    private final Object lock = new Object();
+    private List<Lookup> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    public DistanceMatrixBatcher(
+            OkHttpClient upstreamHttpClient,
+            MeterRegistry meterRegistry,
+            @Value("${google.maps.distance-matrix-url:https://maps.googleapis.com/maps/api/distancematrix/json}") String baseUrl,
+            @Value("${google.maps.api.key:}") String apiKey,
+            @Value("${distance.batch.window-ms:5}") long windowMs,
+            @Value("${distance.batch.max-origins:25}") int maxOrigins,
+            @Value("${distance.batch.max-destinations:25}") int maxDestinations,
+            @Value("${distance.batch.max-elements:100}") int maxElements,
+            @Value("${distance.batch.senders:4}") int senders
+    ) {
+        this.http = upstreamHttpClient;
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+        this.windowMs = Math.max(0, windowMs);
+        this.maxOrigins = Math.max(1, maxOrigins);
+        this.maxDestinations = Math.max(1, maxDestinations);
+        this.maxElements = Math.max(1, maxElements);
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senders), daemonThreads("distance-matrix-"));
+
+        this.matrixRequests = Counter.builder("distance.matrix.requests").register(meterRegistry);
+        this.matrixLookups = Counter.builder("distance.matrix.lookups").register(meterRegistry);
+    }
+
+    /**
+     * Queues one lookup. Completes with the distance in km,
+     * or null if the API had no answer for this pair (caller decides the fallback).
+     *
+     * @param timeoutMs how long the caller will wait; the matrix call is cut off once every
+     *                  caller in its batch has given up (0 = client default only)
+     */
+    public CompletableFuture<Double> submit(String origin, String destination, long timeoutMs) {
+        long deadline = timeoutMs > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs) : 0;
+        Lookup lookup = new Lookup(origin.trim(), destination.trim(), deadline, new CompletableFuture<>());
+        matrixLookups.increment();
+
+        boolean flushNow = false;
+        synchronized (lock) {
+            pending.add(lookup);
+            if (windowMs == 0 || pending.size() >= maxElements) {
+                flushNow = true;
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                flusher.schedule(this::flush, windowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (flushNow) {
+            flusher.execute(this::flush);
+        }
+        return lookup.result;
+    }
+
+    private void flush() {
+        List<Lookup> batch;
+        synchronized (lock) {
+            batch = pending;
+            pending = new ArrayList<>();
+            flushScheduled = false;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // same origin → same row, so its lookups share one request
+        Map<String, List<Lookup>> byOrigin = new LinkedHashMap<>();
+        for (Lookup lookup : batch) {
+            byOrigin.computeIfAbsent(lookup.origin, o -> new ArrayList<>()).add(lookup);
+        }
+
+        // split greedily so every request stays within the API limits and the waste cap
+        Chunk chunk = new Chunk();
+        for (List<Lookup> group : byOrigin.values()) {
+            for (Lookup lookup : group) {
+                if (!chunk.fits(lookup)) {
+                    send(chunk);
+                    chunk = new Chunk();
+                }
+                chunk.add(lookup);
+            }
+        }
+        send(chunk);
+    }
+
+    private void send(Chunk chunk) {
+        try {
+            senders.execute(() -> execute(chunk));
+        } catch (Exception e) {
+            chunk.failAll(e);
+        }
+    }
+
+    private void execute(Chunk chunk) {
+        List<String> origins = new ArrayList<>(chunk.origins.keySet());
+        List<String> destinations = new ArrayList<>(chunk.destinations.keySet());
+
+        try {
+            String url = baseUrl
+                    + "?origins=" + encode(String.join("|", origins))
+                    + "&destinations=" + encode(String.join("|", destinations))
+                    + "&units=metric&key=" + encode(apiKey);
+
+            Call call = http.newCall(new Request.Builder().url(url).get().build());
+            long remainingMs = chunk.remainingMs();
+            if (remainingMs == 0) {
+                // every caller already gave up → don't pay for the request
+                chunk.completeAll(null);
+                return;
+            }
+            if (remainingMs > 0) {
+                call.timeout().timeout(remainingMs, TimeUnit.MILLISECONDS);
+            }
+
+            matrixRequests.increment();
+            JsonNode response;
+            // shared pooled client; the deadline is the longest wait left in this batch
+            try (Response httpResponse = call.execute()) {
+                if (!httpResponse.isSuccessful() || httpResponse.body() == null) {
+                    log.warn("Google Matrix HTTP {}", httpResponse.code());
+                    chunk.completeAll(null);
+                    return;
+                }
+                response = mapper.readTree(httpResponse.body().byteStream());
+            }
+
+            String status = response == null ? null : response.path("status").asText(null);
+            if (!"OK".equals(status)) {
+                log.warn("Google Matrix status: {}", status);
+                chunk.completeAll(null);
+                return;
+            }
+
+            JsonNode rows = response.path("rows");
+            for (Lookup lookup : chunk.lookups) {
+                lookup.result.complete(elementKm(rows,
+                        chunk.origins.get(lookup.origin),
+                        chunk.destinations.get(lookup.destination)));
+            }
+
+            log.info("Google Matrix resolved {} lookups with {}x{} matrix",
+                    chunk.lookups.size(), origins.size(), destinations.size());
+
+        } catch (Exception e) {
+            log.error("Google Matrix batch failed: {}", e.getMessage());
+            chunk.failAll(e);
+        }
+    }
+
+    private Double elementKm(JsonNode rows, int originIdx, int destinationIdx) {
+        JsonNode element = rows.path(originIdx).path("elements").path(destinationIdx);
+        if (element.isMissingNode()) {
+            return null;
+        }
+
+        String status = element.path("status").asText(null);
+        if (!"OK".equals(status)) {
+            log.warn("Google Matrix element status: {}", status);
+            return null;
+        }
+
+        JsonNode meters = element.path("distance").path("value");
+        if (!meters.isNumber()) {
+            return null;
+        }
+        return meters.doubleValue() / 1000.0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private static CustomizableThreadFactory daemonThreads(String prefix) {
+        CustomizableThreadFactory factory = new CustomizableThreadFactory(prefix);
+        factory.setDaemon(true);
+        return factory;
+    }
+
+    private static String encode(String s) {
+        return URLEncoder.encode(s, StandardCharsets.UTF_8);
+    }
+
+    private record Lookup(String origin, String destination, long deadlineNanos, CompletableFuture<Double> result) {
+    }
+
+    /**
+     * One matrix request: distinct origins/destinations → row/column index.
+     */
+    private class Chunk {
+        // billed cells may be at most this many times the distinct pairs asked for
+        private static final int MAX_WASTE_FACTOR = 2;
+
+        private final Map<String, Integer> origins = new LinkedHashMap<>();
+        private final Map<String, Integer> destinations = new LinkedHashMap<>();
+        private final Set<String> pairs = new HashSet<>();
+        private final List<Lookup> lookups = new ArrayList<>();
+
+        boolean fits(Lookup lookup) {
+            int o = origins.size() + (origins.containsKey(lookup.origin) ? 0 : 1);
+            int d = destinations.size() + (destinations.containsKey(lookup.destination) ? 0 : 1);
+            int useful = pairs.size() + (pairs.contains(pairKey(lookup)) ? 0 : 1);
+            return o <= maxOrigins && d <= maxDestinations && o * d <= maxElements
+                    && o * d <= MAX_WASTE_FACTOR * useful;
+        }
+
+        void add(Lookup lookup) {
+            origins.putIfAbsent(lookup.origin, origins.size());
+            destinations.putIfAbsent(lookup.destination, destinations.size());
+            pairs.add(pairKey(lookup));
+            lookups.add(lookup);
+        }
+
+        /**
+         * @return ms until the last caller's deadline, 0 if all have passed, -1 if any caller has none
+         */
+        long remainingMs() {
+            long latest = 0;
+            for (Lookup lookup : lookups) {
+                if (lookup.deadlineNanos == 0) {
+                    return -1;
+                }
+                latest = Math.max(latest, lookup.deadlineNanos - System.nanoTime());
+            }
+            return latest <= 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toMillis(latest));
+        }
+
+        private String pairKey(Lookup lookup) {
+            return lookup.origin + '\n' + lookup.destination;
+        }
+
+        void completeAll(Double km) {
+            lookups.forEach(l -> l.result.complete(km));
+        }
+
+        void failAll(Throwable t) {
+            lookups.forEach(l -> l.result.completeExceptionally(t));
+        }
+    }
+}
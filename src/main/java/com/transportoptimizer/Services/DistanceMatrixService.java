@@ -1,102 +1,99 @@
 package com.transportoptimizer.Services;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class DistanceMatrixService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final DistanceCacheService distanceCache;
+    private final DistanceMatrixBatcher matrixBatcher;
+    private final GazetteerService gazetteer;
 
     // Google API key (env var se aayegi)
     @Value("${google.maps.api.key:}")
     private String googleApiKey;
 
+    // how long a caller waits for its batched matrix element
+    @Value("${distance.batch.wait-timeout-ms:3000}")
+    private long batchWaitMs;
+
+    // off = old mock only, fallback = gazetteer before mock, first = gazetteer before Google
+    @Value("${distance.offline.mode:fallback}")
+    private OfflineMode offlineMode;
+
+    public enum OfflineMode {
+        OFF, FALLBACK, FIRST
+    }
+
     /**
      * Returns distance in KM between origin and destination.
      * Uses Google Distance Matrix if API key present,
-     * otherwise falls back to MOCK distances.
+     * otherwise falls back to the offline gazetteer, then MOCK distances.
+     * Google results are cached (memory + Mongo), offline/mock ones are not.
      */
     public double getDistanceKm(String origin, String destination) {
 
+        // ⚡ offline-first → Google only for places the gazetteer doesn't know
+        if (offlineMode == OfflineMode.FIRST) {
+            Double offline = gazetteer.estimateKm(origin, destination);
+            if (offline != null) {
+                return offline;
+            }
+        }
+
         // 🔁 MOCK MODE (no key)
         if (googleApiKey == null || googleApiKey.isBlank()) {
-            double mock = mockDistance(origin, destination);
-            log.warn("Google API key missing → using MOCK distance {} km", mock);
-            return mock;
+            double fallback = fallbackDistance(origin, destination);
+            log.warn("Google API key missing → using offline/MOCK distance {} km", fallback);
+            return fallback;
         }
 
-        try {
-            String url = String.format(
-                    "https://maps.googleapis.com/maps/api/distancematrix/json" +
-                            "?origins=%s&destinations=%s&units=metric&key=%s",
-                    encode(origin),
-                    encode(destination),
-                    googleApiKey
-            );
-
-            Map response = restTemplate.getForObject(url, Map.class);
-
-            if (response == null) {
-                log.warn("Google Matrix returned null response");
-                return mockDistance(origin, destination);
-            }
-
-            String status = (String) response.get("status");
-            if (!"OK".equals(status)) {
-                log.warn("Google Matrix status: {}", status);
-                return mockDistance(origin, destination);
-            }
-
-            List rows = (List) response.get("rows");
-            if (rows == null || rows.isEmpty()) {
-                log.warn("Google Matrix returned empty rows");
-                return mockDistance(origin, destination);
-            }
-
-            Map row = (Map) rows.get(0);
-            List elements = (List) row.get("elements");
-            if (elements == null || elements.isEmpty()) {
-                log.warn("Google Matrix returned empty elements");
-                return mockDistance(origin, destination);
-            }
+        Optional<Double> cached = distanceCache.get(origin, destination);
+        if (cached.isPresent()) {
+            log.debug("Distance cache hit {} -> {} = {} km", origin, destination, cached.get());
+            return cached.get();
+        }
 
-            Map element = (Map) elements.get(0);
-            String elementStatus = (String) element.get("status");
-            if (!"OK".equals(elementStatus)) {
-                log.warn("Google Matrix element status: {}", elementStatus);
-                return mockDistance(origin, destination);
-            }
+        try {
+            // merged with concurrent lookups into one matrix request
+            Double km = matrixBatcher.submit(origin, destination, batchWaitMs)
+                    .get(batchWaitMs, TimeUnit.MILLISECONDS);
 
-            Map distance = (Map) element.get("distance");
-            if (distance == null || distance.get("value") == null) {
-                log.warn("Google Matrix distance missing");
-                return mockDistance(origin, destination);
+            if (km == null) {
+                return fallbackDistance(origin, destination);
             }
 
-            double meters = ((Number) distance.get("value")).doubleValue();
-            double km = meters / 1000.0;
-
             log.info("Google Matrix distance {} -> {} = {} km", origin, destination, km);
+            distanceCache.put(origin, destination, km);
             return km;
 
         } catch (Exception e) {
-            log.error("Google Matrix failed, using MOCK distance", e);
-            return mockDistance(origin, destination);
+            log.error("Google Matrix failed, using offline/MOCK distance", e);
+            return fallbackDistance(origin, destination);
         }
 
     }
 
     // ---------------- MOCK DISTANCE SECTION ----------------
 
+    private double fallbackDistance(String origin, String destination) {
+        if (offlineMode != OfflineMode.OFF) {
+            Double offline = gazetteer.estimateKm(origin, destination);
+            if (offline != null) {
+                return offline;
+            }
+        }
+        return mockDistance(origin, destination);
+    }
+
     /**
      * Deterministic mock distances for local testing
      * (add 2–4 locations as you want)
@@ -118,8 +115,4 @@ public class DistanceMatrixService {
         // generic deterministic fallback
         return 5 + Math.abs(origin.hashCode() - destination.hashCode()) % 20;
     }
-
-    private String encode(String s) {
-        return URLEncoder.encode(s, StandardCharsets.UTF_8);
-    }
 }
@@ -2,9 +2,11 @@ package com.transportoptimizer.Services;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 @Service
 @Slf4j
@@ -13,6 +15,9 @@ public class DistanceService {
 
     private final DistanceMatrixService distanceMatrixService;
 
+    @Qualifier("distanceExecutor")
+    private final ExecutorService distanceExecutor;
+
     public double calculateDistanceKm(String origin, String destination) {
         double distance = distanceMatrixService.getDistanceKm(origin, destination);
         log.info("distance {} -> {} = {} km", origin, destination, distance);
@@ -20,6 +25,7 @@ public class DistanceService {
     }
 
     public CompletableFuture<Double> calculateDistanceKmAsync(String origin, String destination) {
-        return CompletableFuture.supplyAsync(() -> calculateDistanceKm(origin, destination));
+        // blocking upstream call → dedicated pool, never the common ForkJoinPool
+        return CompletableFuture.supplyAsync(() -> calculateDistanceKm(origin, destination), distanceExecutor);
     }
 }
@@ -0,0 +1,133 @@
+package com.transportoptimizer.Services;
+
+import com.transportoptimizer.Repository.FareEstimateCacheRepository;
+import com.transportoptimizer.entity.FareEstimate;
+import com.transportoptimizer.entity.FareEstimateCacheEntry;
+import com.transportoptimizer.entity.TripRequest;
+import com.transportoptimizer.util.PlaceKeys;
+import com.transportoptimizer.util.TtlLruCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through cache for fare estimates.
+ * L1 = bounded in-process LRU with TTL, L2 = Mongo collection with a TTL index.
+ */
+@Service
+@Slf4j
+public class FareEstimateCacheService {
+
+    private final FareEstimateCacheRepository cacheRepository;
+    private final TtlLruCache<String, FareEstimate> l1;
+    private final long ttlMillis;
+    private final long bucketMinutes;
+
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder l2Misses = new LongAdder();
+
+    public FareEstimateCacheService(
+            FareEstimateCacheRepository cacheRepository,
+            MeterRegistry meterRegistry,
+            @Value("${fare.cache.l1-max-size:10000}") int l1MaxSize,
+            @Value("${fare.cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${fare.cache.bucket-minutes:15}") long bucketMinutes
+    ) {
+        this.cacheRepository = cacheRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.bucketMinutes = Math.max(1, bucketMinutes);
+        this.l1 = new TtlLruCache<>(l1MaxSize, ttlMillis);
+
+        FunctionCounter.builder("fare.cache.l1.hits", l1, TtlLruCache::hits).register(meterRegistry);
+        FunctionCounter.builder("fare.cache.l1.misses", l1, TtlLruCache::misses).register(meterRegistry);
+        FunctionCounter.builder("fare.cache.l1.evictions", l1, TtlLruCache::evictions).register(meterRegistry);
+        FunctionCounter.builder("fare.cache.l1.expirations", l1, TtlLruCache::expirations).register(meterRegistry);
+        Gauge.builder("fare.cache.l1.size", l1, TtlLruCache::size).register(meterRegistry);
+        FunctionCounter.builder("fare.cache.l2.hits", l2Hits, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("fare.cache.l2.misses", l2Misses, LongAdder::sum).register(meterRegistry);
+    }
+
+    /**
+     * normalized origin | normalized destination | departure-time bucket [| options]
+     */
+    public String cacheKey(TripRequest tripRequest) {
+        StringBuilder key = new StringBuilder(64)
+                .append(PlaceKeys.normalize(tripRequest.getOrigin()))
+                .append('|')
+                .append(PlaceKeys.normalize(tripRequest.getDestination()))
+                .append('|')
+                .append(bucketOf(tripRequest.getDepartureTime()));
+
+        // providers read options (e.g. departureTime) → different options, different fares
+        // sorted map toString = canonical, collision-free (unlike hashCode)
+        if (tripRequest.getOptions() != null && !tripRequest.getOptions().isEmpty()) {
+            key.append('|').append(new TreeMap<>(tripRequest.getOptions()));
+        }
+        return key.toString();
+    }
+
+    /**
+     * normalized origin | normalized destination (distance depends on nothing else)
+     */
+    public String routeKey(TripRequest tripRequest) {
+        return PlaceKeys.normalize(tripRequest.getOrigin()) + '|' + PlaceKeys.normalize(tripRequest.getDestination());
+    }
+
+    public Optional<FareEstimate> get(String cacheKey) {
+        FareEstimate local = l1.get(cacheKey);
+        if (local != null) {
+            return Optional.of(local);
+        }
+
+        try {
+            Optional<FareEstimateCacheEntry> entry = cacheRepository.findById(cacheKey);
+            long now = System.currentTimeMillis();
+
+            // TTL monitor runs ~every 60s → expired docs can still be returned
+            if (entry.isPresent() && entry.get().getExpiresAt() != null
+                    && entry.get().getExpiresAt().toEpochMilli() > now) {
+                l2Hits.increment();
+                FareEstimate estimate = entry.get().getFareEstimate();
+                l1.put(cacheKey, estimate, entry.get().getExpiresAt().toEpochMilli() - now);
+                return Optional.of(estimate);
+            }
+        } catch (Exception e) {
+            log.error("Fare cache lookup failed: {}", e.getMessage());
+        }
+
+        l2Misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String cacheKey, FareEstimate estimate) {
+        l1.put(cacheKey, estimate);
+
+        try {
+            cacheRepository.save(FareEstimateCacheEntry.builder()
+                    .cacheKey(cacheKey)
+                    .fareEstimate(estimate)
+                    .expiresAt(Instant.now().plusMillis(ttlMillis))
+                    .build());
+            log.info("FareEstimate cached for {} -> {}", estimate.getOrigin(), estimate.getDestination());
+        } catch (Exception e) {
+            log.error("Failed to cache FareEstimate: {}", e.getMessage());
+        }
+    }
+
+    private long bucketOf(LocalDateTime departureTime) {
+        long epochMinute = departureTime == null
+                ? System.currentTimeMillis() / 60_000
+                : departureTime.toEpochSecond(ZoneOffset.UTC) / 60;
+        return epochMinute / bucketMinutes;
+    }
+}
@@ -0,0 +1,70 @@
+package com.transportoptimizer.Services;
+
+import com.transportoptimizer.entity.FareRanking;
+import com.transportoptimizer.entity.ProviderFare;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Compare post-processing in one place: normalize + CO2 per fare (in place, no copies),
+ * then sort by price and rank. Replaces normalizeAll → forEach(co2) → stream sort.
+ */
+@Service
+@RequiredArgsConstructor
+public class FarePipelineService {
+
+    private static final Comparator<ProviderFare> BY_PRICE =
+            Comparator.comparingDouble(ProviderFare::getPrice);
+
+    private final PriceNormalizationServices normalizationService;
+    private final EmissionCalculationService emissionService;
+
+    /**
+     * Normalizes and CO2-annotates a single fare in place.
+     */
+    public ProviderFare annotate(ProviderFare fare, double distanceKm) {
+        normalizationService.normalizeInPlace(fare, distanceKm);
+        fare.setCo2EmissionKg(emissionService.calculate(
+                fare.getVehicleType(),
+                fare.getDistanceKm(),
+                fare.getSurgeFactor()
+        ));
+        return fare;
+    }
+
+    public List<ProviderFare> annotateAll(List<ProviderFare> fares, double distanceKm) {
+        for (ProviderFare fare : fares) {
+            annotate(fare, distanceKm);
+        }
+        return fares;
+    }
+
+    /**
+     * annotate every fare → sort by price → cheapest / fastest / hybrid-best indices.
+     */
+    public FareRanking process(List<ProviderFare> rawFares, double distanceKm) {
+        List<ProviderFare> fares = new ArrayList<>(rawFares.size());
+        for (ProviderFare fare : rawFares) {
+            if (fare != null) {
+                fares.add(annotate(fare, distanceKm));
+            }
+        }
+        return rankSorted(fares);
+    }
+
+    /**
+     * Fares annotated already (streaming path) → sort by price and rank only.
+     */
+    public FareRanking rank(List<ProviderFare> annotatedFares) {
+        return rankSorted(new ArrayList<>(annotatedFares));
+    }
+
+    private FareRanking rankSorted(List<ProviderFare> fares) {
+        fares.sort(BY_PRICE);
+        return FareRanking.of(fares);
+    }
+}
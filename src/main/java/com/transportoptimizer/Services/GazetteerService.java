@@ -0,0 +1,205 @@
+package com.transportoptimizer.Services;
+
+import com.transportoptimizer.util.GazetteerIndex;
+import com.transportoptimizer.util.PlaceKeys;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Offline distances: resolves place names against a local gazetteer
+ * and returns haversine distance × road factor. No network, ~1µs per pair.
+ */
+@Service
+@Slf4j
+public class GazetteerService {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    @Value("${distance.offline.gazetteer:classpath:gazetteer/places.csv}")
+    private Resource gazetteerFile;
+
+    // optional: binary index file, (re)built when the gazetteer changes and memory-mapped afterwards
+    @Value("${distance.offline.index-path:}")
+    private String indexPath;
+
+    // straight line → road distance
+    @Value("${distance.offline.road-factor:1.3}")
+    private double roadFactor;
+
+    private volatile GazetteerIndex index;
+
+    // one row per CSV line (aliases folded in), for autocomplete
+    private volatile List<KnownPlace> knownPlaces = List.of();
+
+    @PostConstruct
+    public void load() {
+        try {
+            long start = System.nanoTime();
+            byte[] source;
+            try (InputStream in = gazetteerFile.getInputStream()) {
+                source = in.readAllBytes();
+            }
+            List<KnownPlace> rows = readPlaces(source);
+            knownPlaces = List.copyOf(rows);
+            index = loadIndex(rows, GazetteerIndex.fingerprint(source));
+            log.info("Gazetteer loaded: {} names, {} bytes in {} ms",
+                    index.size(), index.sizeInBytes(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            // offline mode just resolves nothing → callers keep their old fallback
+            log.error("Gazetteer could not be loaded: {}", e.getMessage());
+            index = GazetteerIndex.build(List.of());
+        }
+    }
+
+    private GazetteerIndex loadIndex(List<KnownPlace> rows, long sourceHash) throws IOException {
+        if (indexPath == null || indexPath.isBlank()) {
+            return GazetteerIndex.build(indexEntries(rows), sourceHash);
+        }
+
+        Path path = Path.of(indexPath);
+        if (Files.exists(path)) {
+            try {
+                GazetteerIndex mapped = GazetteerIndex.open(path);
+                if (mapped.sourceHash() == sourceHash) {
+                    return mapped;
+                }
+                log.info("Gazetteer changed since {} was built, rebuilding", path);
+            } catch (IllegalArgumentException e) {
+                // older layout or a foreign file
+                log.info("Gazetteer index {} unreadable ({}), rebuilding", path, e.getMessage());
+            }
+        }
+        GazetteerIndex.build(indexEntries(rows), sourceHash).writeTo(path);
+        log.info("Gazetteer index written to {}", path);
+        return GazetteerIndex.open(path);
+    }
+
+    /**
+     * CSV: name,city,lat,lon,aliases(';' separated). '#' lines are comments.
+     */
+    private List<KnownPlace> readPlaces(byte[] source) throws IOException {
+        List<KnownPlace> places = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(source), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] cols = line.split(",", -1);
+                if (cols.length < 4) {
+                    continue;
+                }
+                String city = cols[1].trim();
+                double lat = Double.parseDouble(cols[2].trim());
+                double lon = Double.parseDouble(cols[3].trim());
+
+                String name = PlaceKeys.normalize(cols[0]);
+                List<String> aliases = new ArrayList<>();
+                if (cols.length > 4 && !cols[4].isBlank()) {
+                    for (String alias : cols[4].split(";")) {
+                        aliases.add(PlaceKeys.normalize(alias));
+                    }
+                }
+                places.add(new KnownPlace(PlaceKeys.placeId(city, name), name, city, List.copyOf(aliases), lat, lon));
+            }
+        }
+        return places;
+    }
+
+    private static List<GazetteerIndex.Place> indexEntries(List<KnownPlace> rows) {
+        List<GazetteerIndex.Place> entries = new ArrayList<>();
+        for (KnownPlace row : rows) {
+            entries.add(new GazetteerIndex.Place(row.name(), row.city(), row.lat(), row.lon()));
+            for (String alias : row.aliases()) {
+                entries.add(new GazetteerIndex.Place(alias, row.city(), row.lat(), row.lon()));
+            }
+        }
+        return entries;
+    }
+
+    public List<KnownPlace> knownPlaces() {
+        return knownPlaces;
+    }
+
+    /**
+     * Road-adjusted distance in km, or null if either place is unknown.
+     */
+    public Double estimateKm(String origin, String destination) {
+        GazetteerIndex idx = index;
+        int from = resolve(idx, origin);
+        int to = from < 0 ? -1 : resolve(idx, destination);
+        if (to < 0) {
+            return null;
+        }
+        double km = haversineKm(idx.lat(from), idx.lon(from), idx.lat(to), idx.lon(to)) * roadFactor;
+        return Math.round(km * 10) / 10.0;
+    }
+
+    /**
+     * City slug of a place (e.g. "delhi-ncr"), or null if unknown.
+     */
+    public String cityOf(String place) {
+        GazetteerIndex idx = index;
+        int entry = resolve(idx, place);
+        return entry < 0 ? null : idx.city(entry);
+    }
+
+    /**
+     * Most specific match first: full name, then each comma part
+     * ("Rajiv Chowk, Delhi" → "rajiv chowk"), then shorter word prefixes.
+     */
+    private int resolve(GazetteerIndex idx, String place) {
+        if (place == null) {
+            return -1;
+        }
+        String full = PlaceKeys.normalize(place);
+        int entry = idx.find(full);
+        if (entry >= 0) {
+            return entry;
+        }
+
+        if (place.indexOf(',') >= 0) {
+            for (String part : place.split(",")) {
+                entry = idx.find(PlaceKeys.normalize(part));
+                if (entry >= 0) {
+                    return entry;
+                }
+            }
+        }
+
+        for (int end = full.lastIndexOf(' '); end > 0; end = full.lastIndexOf(' ', end - 1)) {
+            entry = idx.find(full.substring(0, end));
+            if (entry >= 0) {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    public record KnownPlace(String id, String name, String city, List<String> aliases, double lat, double lon) {
+    }
+
+    static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
@@ -1,9 +1,14 @@
 package com.transportoptimizer.Services;
 
+import com.transportoptimizer.util.AhoCorasick;
+import com.transportoptimizer.util.PlaceKeys;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 public class MetroCoverageService {
@@ -14,7 +19,7 @@ public class MetroCoverageService {
      */
     private static final Map<String, List<String>> METRO_STATIONS = Map.of(
             "delhi-ncr", List.of(
-                    "rajiv chowk", "kashmere gate", "new delhi","delhi",
+                    "rajiv chowk", "kashmere gate", "new delhi",
                     "aiims", "hauz khas", "green park",
                     "dilshad garden", "rohini west", "chandni chowk"
             ),
@@ -40,22 +45,93 @@ public class MetroCoverageService {
             )
     );
 
+    // swapped as a whole when the station graphs are loaded → lookups never lock
+    private volatile Coverage coverage = Coverage.of(METRO_STATIONS);
+
+    /**
+     * Uses the stations of the loaded metro graphs; cities without a graph
+     * keep the keywords above.
+     */
+    public void useNetworkStations(Map<String, List<String>> stationsByCity) {
+        Map<String, List<String>> stations = new TreeMap<>(METRO_STATIONS);
+        stationsByCity.forEach((city, names) -> {
+            if (!names.isEmpty()) {
+                stations.put(city, names);
+            }
+        });
+        coverage = Coverage.of(stations);
+    }
+
     public boolean isMetroRoute(String origin, String destination) {
-        String o = origin.toLowerCase();
-        String d = destination.toLowerCase();
+        // ✅ same city metro stations on both ends
+        return (cityMask(origin) & cityMask(destination)) != 0;
+    }
 
-        for (Map.Entry<String, List<String>> entry : METRO_STATIONS.entrySet()) {
-            boolean originMatch = containsAny(o, entry.getValue());
-            boolean destinationMatch = containsAny(d, entry.getValue());
+    /**
+     * All stations mentioned in a free-text place, with their city.
+     */
+    public List<StationMatch> matchStations(String place) {
+        return place == null ? List.of() : coverage.matcher.findAll(padded(place));
+    }
 
-            if (originMatch && destinationMatch) {
-                return true; // ✅ same city metro stations
-            }
+    public Set<String> cities() {
+        return Set.copyOf(coverage.cities);
+    }
+
+    public static String stationId(String city, String station) {
+        return PlaceKeys.placeId(city, station);
+    }
+
+    private long cityMask(String place) {
+        if (place == null) {
+            return 0L;
         }
-        return false;
+        Coverage c = coverage;
+        long[] mask = new long[1];
+        c.matcher.scan(padded(place), id -> mask[0] |= c.cityBitOfPattern[id]);
+        return mask[0];
     }
 
-    private boolean containsAny(String input, List<String> stations) {
-        return stations.stream().anyMatch(input::contains);
+    // whole words only: " ina " must not match inside "marina"
+    private static String padded(String text) {
+        return " " + PlaceKeys.normalize(text) + " ";
+    }
+
+    public record StationMatch(String city, String stationId, String name) {
+    }
+
+    private static final class Coverage {
+
+        private final List<String> cities;
+
+        // every station of every city in one automaton → one pass per input
+        private final AhoCorasick<StationMatch> matcher;
+
+        // pattern id → bit of its city
+        private final long[] cityBitOfPattern;
+
+        private Coverage(List<String> cities, AhoCorasick<StationMatch> matcher, long[] cityBitOfPattern) {
+            this.cities = cities;
+            this.matcher = matcher;
+            this.cityBitOfPattern = cityBitOfPattern;
+        }
+
+        static Coverage of(Map<String, List<String>> stationsByCity) {
+            List<String> cities = List.copyOf(stationsByCity.keySet());
+            if (cities.size() > 64) {
+                throw new IllegalStateException("City bitmask supports at most 64 metro cities");
+            }
+
+            AhoCorasick.Builder<StationMatch> builder = AhoCorasick.builder();
+            List<Long> bits = new ArrayList<>();
+            for (int c = 0; c < cities.size(); c++) {
+                String city = cities.get(c);
+                for (String station : stationsByCity.get(city)) {
+                    builder.add(padded(station), new StationMatch(city, stationId(city, station), station));
+                    bits.add(1L << c);
+                }
+            }
+            return new Coverage(cities, builder.build(), bits.stream().mapToLong(Long::longValue).toArray());
+        }
     }
 }
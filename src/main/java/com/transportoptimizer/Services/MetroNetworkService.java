@@ -0,0 +1,368 @@
+package com.transportoptimizer.Services;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Metro routing per city: station/line graph loaded from metro/network.txt,
+ * all-pairs fastest routes (minutes, km, interchanges) precomputed at startup,
+ * so a route is an array lookup at compare time.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class MetroNetworkService {
+
+    private final MetroCoverageService metroCoverageService;
+
+    @Value("${metro.network.file:classpath:metro/network.txt}")
+    private Resource networkFile;
+
+    private volatile Map<String, CityNetwork> networks = Map.of();
+
+    @PostConstruct
+    public void load() {
+        try {
+            long start = System.nanoTime();
+            Map<String, CityNetwork> loaded = new HashMap<>();
+            for (CityNetwork.Builder builder : parse()) {
+                CityNetwork network = builder.build();
+                loaded.put(network.city, network);
+            }
+            networks = Map.copyOf(loaded);
+            // every graph station can be an endpoint, not just the coverage keywords
+            metroCoverageService.useNetworkStations(stationsByCity());
+            log.info("Metro networks loaded: {} cities, {} stations in {} ms",
+                    loaded.size(),
+                    loaded.values().stream().mapToInt(n -> n.stations.length).sum(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            // no graph → MetroClient keeps the distance formula
+            log.error("Metro network could not be loaded: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Fastest metro route between the stations named in two places.
+     * Empty if either place has no station of a common city's graph
+     * (or both resolve to the same station).
+     */
+    public Optional<MetroRoute> route(String origin, String destination) {
+        List<MetroCoverageService.StationMatch> from = metroCoverageService.matchStations(origin);
+        if (from.isEmpty()) {
+            return Optional.empty();
+        }
+        List<MetroCoverageService.StationMatch> to = metroCoverageService.matchStations(destination);
+
+        for (MetroCoverageService.StationMatch o : from) {
+            CityNetwork network = networks.get(o.city());
+            if (network == null) {
+                continue;
+            }
+            int a = network.indexOf(from, o.city());
+            int b = network.indexOf(to, o.city());
+            if (a >= 0 && b >= 0 && a != b && network.reachable(a, b)) {
+                return Optional.of(network.route(a, b));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * city → station names of its graph
+     */
+    public Map<String, List<String>> stationsByCity() {
+        Map<String, List<String>> result = new HashMap<>();
+        networks.forEach((city, network) -> result.put(city, List.of(network.stations)));
+        return result;
+    }
+
+    private List<CityNetwork.Builder> parse() throws IOException {
+        List<CityNetwork.Builder> cities = new ArrayList<>();
+        CityNetwork.Builder current = null;
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(networkFile.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (line.startsWith("city ")) {
+                    current = CityNetwork.Builder.fromHeader(line);
+                    cities.add(current);
+                } else if (line.startsWith("line ") && current != null) {
+                    current.addLine(line.substring(5));
+                } else {
+                    throw new IllegalArgumentException("Bad metro network line: " + line);
+                }
+            }
+        }
+        return cities;
+    }
+
+    public record MetroRoute(
+            String city,
+            String fromStation,
+            String toStation,
+            double km,
+            int etaMinutes,
+            int interchanges,
+            double fare
+    ) {
+    }
+
+    /**
+     * One city: n stations, results stored row-major in flat n*n arrays.
+     */
+    static final class CityNetwork {
+
+        private final String city;
+        private final String[] stations;
+        private final Map<String, Integer> stationIndex;
+        private final double[] fareUpToKm;
+        private final double[] fareInr;
+        private final int waitMinutes;
+
+        private final float[] minutes;
+        private final float[] km;
+        private final byte[] interchanges;
+
+        private CityNetwork(Builder b) {
+            this.city = b.city;
+            this.stations = b.stations.keySet().toArray(new String[0]);
+            this.stationIndex = Map.copyOf(b.stations);
+            this.fareUpToKm = b.fareUpToKm;
+            this.fareInr = b.fareInr;
+            this.waitMinutes = b.waitMinutes;
+
+            int n = stations.length;
+            this.minutes = new float[n * n];
+            this.km = new float[n * n];
+            this.interchanges = new byte[n * n];
+            allPairs(b);
+        }
+
+        /**
+         * Most specific (longest) matched name of this city that is a graph station.
+         */
+        int indexOf(List<MetroCoverageService.StationMatch> matches, String matchCity) {
+            int best = -1;
+            int bestLength = -1;
+            for (MetroCoverageService.StationMatch m : matches) {
+                if (!m.city().equals(matchCity)) {
+                    continue;
+                }
+                Integer idx = stationIndex.get(m.name());
+                if (idx != null && m.name().length() > bestLength) {
+                    best = idx;
+                    bestLength = m.name().length();
+                }
+            }
+            return best;
+        }
+
+        boolean reachable(int from, int to) {
+            return !Float.isNaN(minutes[from * stations.length + to]);
+        }
+
+        MetroRoute route(int from, int to) {
+            int cell = from * stations.length + to;
+            double distance = km[cell];
+            return new MetroRoute(
+                    city,
+                    stations[from],
+                    stations[to],
+                    Math.round(distance * 10) / 10.0,
+                    Math.round(waitMinutes + minutes[cell]),
+                    interchanges[cell],
+                    fareFor(distance)
+            );
+        }
+
+        private double fareFor(double distance) {
+            for (int i = 0; i < fareUpToKm.length; i++) {
+                if (distance <= fareUpToKm[i]) {
+                    return fareInr[i];
+                }
+            }
+            return fareInr[fareInr.length - 1];
+        }
+
+        /**
+         * Dijkstra from every station over (station, line) states:
+         * riding costs km / speed, changing line costs the interchange penalty.
+         * Ties on time prefer fewer interchanges.
+         */
+        private void allPairs(Builder b) {
+            int n = stations.length;
+            int states = b.stateStation.size();
+            double[] dist = new double[states];
+            double[] distKm = new double[states];
+            int[] changes = new int[states];
+
+            for (int source = 0; source < n; source++) {
+                Arrays.fill(dist, Double.MAX_VALUE);
+                PriorityQueue<double[]> queue = new PriorityQueue<>(
+                        (x, y) -> x[0] != y[0] ? Double.compare(x[0], y[0]) : Double.compare(x[2], y[2]));
+
+                for (int s : b.statesOfStation.get(source)) {
+                    dist[s] = 0;
+                    distKm[s] = 0;
+                    changes[s] = 0;
+                    queue.add(new double[]{0, s, 0});
+                }
+
+                while (!queue.isEmpty()) {
+                    double[] top = queue.poll();
+                    int s = (int) top[1];
+                    if (top[0] > dist[s] || (top[0] == dist[s] && top[2] > changes[s])) {
+                        continue;
+                    }
+                    for (int[] edge : b.edges.get(s)) {
+                        int next = edge[0];
+                        boolean transfer = edge[1] < 0;
+                        double edgeKm = transfer ? 0 : b.edgeKm.get(edge[1]);
+                        double cost = top[0] + (transfer ? b.interchangeMinutes : edgeKm / b.speedKmh * 60.0);
+                        int nextChanges = changes[s] + (transfer ? 1 : 0);
+
+                        if (cost < dist[next] || (cost == dist[next] && nextChanges < changes[next])) {
+                            dist[next] = cost;
+                            distKm[next] = distKm[s] + edgeKm;
+                            changes[next] = nextChanges;
+                            queue.add(new double[]{cost, next, nextChanges});
+                        }
+                    }
+                }
+
+                for (int target = 0; target < n; target++) {
+                    int bestState = -1;
+                    for (int s : b.statesOfStation.get(target)) {
+                        if (dist[s] != Double.MAX_VALUE && (bestState < 0 || dist[s] < dist[bestState])) {
+                            bestState = s;
+                        }
+                    }
+                    int cell = source * n + target;
+                    if (bestState < 0) {
+                        minutes[cell] = Float.NaN;
+                        continue;
+                    }
+                    minutes[cell] = (float) dist[bestState];
+                    km[cell] = (float) distKm[bestState];
+                    interchanges[cell] = (byte) Math.min(changes[bestState], Byte.MAX_VALUE);
+                }
+            }
+        }
+
+        static final class Builder {
+            private String city;
+            private double speedKmh = 33;
+            private int waitMinutes = 3;
+            private double interchangeMinutes = 5;
+            private double[] fareUpToKm = {Double.MAX_VALUE};
+            private double[] fareInr = {0};
+
+            private final Map<String, Integer> stations = new LinkedHashMap<>();
+            private final List<List<Integer>> statesOfStation = new ArrayList<>();
+            private final List<Integer> stateStation = new ArrayList<>();
+            // state → [next state, edgeKm index or -1 for a transfer]
+            private final List<List<int[]>> edges = new ArrayList<>();
+            private final List<Double> edgeKm = new ArrayList<>();
+
+            static Builder fromHeader(String header) {
+                String[] parts = header.split("\\s+");
+                Builder b = new Builder();
+                b.city = parts[1];
+                for (int i = 2; i < parts.length; i++) {
+                    String[] kv = parts[i].split("=", 2);
+                    switch (kv[0]) {
+                        case "speed" -> b.speedKmh = Double.parseDouble(kv[1]);
+                        case "wait" -> b.waitMinutes = Integer.parseInt(kv[1]);
+                        case "interchange" -> b.interchangeMinutes = Double.parseDouble(kv[1]);
+                        case "fare" -> b.parseFares(kv[1]);
+                        default -> throw new IllegalArgumentException("Unknown metro city attribute: " + kv[0]);
+                    }
+                }
+                return b;
+            }
+
+            private void parseFares(String spec) {
+                String[] slabs = spec.split(",");
+                fareUpToKm = new double[slabs.length];
+                fareInr = new double[slabs.length];
+                for (int i = 0; i < slabs.length; i++) {
+                    String[] slab = slabs[i].split(":");
+                    fareUpToKm[i] = "*".equals(slab[0]) ? Double.MAX_VALUE : Double.parseDouble(slab[0]);
+                    fareInr[i] = Double.parseDouble(slab[1]);
+                }
+            }
+
+            void addLine(String spec) {
+                String[] parts = spec.split("\\|");
+                int previous = -1;
+                double previousKm = 0;
+
+                for (int i = 1; i < parts.length; i++) {
+                    String[] stop = parts[i].split("@");
+                    String name = stop[0].trim().toLowerCase();
+                    double chainage = Double.parseDouble(stop[1].trim());
+
+                    int state = newState(station(name));
+                    if (previous >= 0) {
+                        edgeKm.add(chainage - previousKm);
+                        int e = edgeKm.size() - 1;
+                        edges.get(previous).add(new int[]{state, e});
+                        edges.get(state).add(new int[]{previous, e});
+                    }
+                    previous = state;
+                    previousKm = chainage;
+                }
+            }
+
+            private int station(String name) {
+                Integer idx = stations.get(name);
+                if (idx == null) {
+                    idx = stations.size();
+                    stations.put(name, idx);
+                    statesOfStation.add(new ArrayList<>());
+                }
+                return idx;
+            }
+
+            // one state per (station, line); states of the same station are linked by transfers
+            private int newState(int station) {
+                int state = stateStation.size();
+                stateStation.add(station);
+                edges.add(new ArrayList<>());
+                for (int other : statesOfStation.get(station)) {
+                    edges.get(other).add(new int[]{state, -1});
+                    edges.get(state).add(new int[]{other, -1});
+                }
+                statesOfStation.get(station).add(state);
+                return state;
+            }
+
+            CityNetwork build() {
+                return new CityNetwork(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.transportoptimizer.Services;
+
+import com.transportoptimizer.dto.PlaceSuggestionDTO;
+import com.transportoptimizer.entity.FareHistory;
+import com.transportoptimizer.util.PlaceKeys;
+import com.transportoptimizer.util.PlaceTrie;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Autocomplete over gazetteer places and metro stations, ranked by how often
+ * they appear in FareHistory. The trie is immutable and swapped as a whole
+ * when popularity is refreshed → lookups never lock.
+ */
+@Service
+@Slf4j
+public class PlaceSuggestService {
+
+    private final GazetteerService gazetteer;
+    private final MetroNetworkService metroNetwork;
+    private final MongoTemplate mongoTemplate;
+    private final int topK;
+
+    // canonical id → place, plus every normalized name/alias → id
+    private final Map<String, PlaceSuggestionDTO> places = new LinkedHashMap<>();
+    private final Map<String, List<String>> keysById = new HashMap<>();
+    private final Map<String, String> idByName = new HashMap<>();
+    // canonical id → bare place name, without the city label
+    private final Map<String, String> tripTextById = new HashMap<>();
+
+    private volatile Map<String, Long> popularity = Map.of();
+    private volatile PlaceTrie<PlaceSuggestionDTO> trie;
+
+    public PlaceSuggestService(
+            GazetteerService gazetteer,
+            MetroNetworkService metroNetwork,
+            MongoTemplate mongoTemplate,
+            @Value("${places.suggest.top-k:10}") int topK
+    ) {
+        this.gazetteer = gazetteer;
+        this.metroNetwork = metroNetwork;
+        this.mongoTemplate = mongoTemplate;
+        this.topK = topK;
+        loadPlaces();
+        this.trie = buildTrie();
+    }
+
+    public List<PlaceSuggestionDTO> suggest(String query, int limit) {
+        return trie.suggest(PlaceKeys.normalize(query), Math.min(Math.max(1, limit), topK));
+    }
+
+    /**
+     * Trip text for a canonical place id ("delhi-ncr:rajiv-chowk" → "Rajiv Chowk"),
+     * anything else is returned unchanged. No city label: providers match stations
+     * by keyword, and "Delhi NCR" would make every place of the city look like one.
+     */
+    public String canonicalText(String placeOrId) {
+        if (placeOrId == null || placeOrId.indexOf(':') < 0) {
+            return placeOrId;
+        }
+        return tripTextById.getOrDefault(placeOrId.trim().toLowerCase(), placeOrId);
+    }
+
+    private void loadPlaces() {
+        for (GazetteerService.KnownPlace p : gazetteer.knownPlaces()) {
+            List<String> keys = new ArrayList<>();
+            keys.add(p.name());
+            keys.addAll(p.aliases());
+            register(p.id(), p.name(), p.city(), "place", keys);
+        }
+
+        // stations known to the metro graph; same id as a gazetteer place → marked as station
+        metroNetwork.stationsByCity().forEach((city, stations) -> {
+            for (String station : stations) {
+                String id = PlaceKeys.placeId(city, station);
+                PlaceSuggestionDTO existing = places.get(id);
+                if (existing != null) {
+                    existing.setType("station");
+                } else {
+                    register(id, station, city, "station", List.of(PlaceKeys.normalize(station)));
+                }
+            }
+        });
+        log.info("Place suggestions: {} places/stations indexed", places.size());
+    }
+
+    private void register(String id, String name, String city, String type, List<String> keys) {
+        places.put(id, PlaceSuggestionDTO.builder()
+                .id(id)
+                .name(displayName(name, city))
+                .city(city)
+                .type(type)
+                .build());
+        keysById.put(id, keys);
+        tripTextById.put(id, titleCase(name));
+        for (String key : keys) {
+            idByName.putIfAbsent(key, id);
+        }
+    }
+
+    private PlaceTrie<PlaceSuggestionDTO> buildTrie() {
+        Map<String, Long> counts = popularity;
+        PlaceTrie.Builder<PlaceSuggestionDTO> builder = PlaceTrie.builder(topK);
+
+        for (PlaceSuggestionDTO place : places.values()) {
+            long count = counts.getOrDefault(place.getId(), 0L);
+            // small priors (city itself > station > other place), history dominates once there is any
+            double score = count + prior(place);
+            PlaceSuggestionDTO snapshot = PlaceSuggestionDTO.builder()
+                    .id(place.getId())
+                    .name(place.getName())
+                    .city(place.getCity())
+                    .type(place.getType())
+                    .popularity(count)
+                    .build();
+            builder.add(snapshot, score, keysById.get(place.getId()));
+        }
+        return builder.build();
+    }
+
+    // first run shortly after startup, off the main thread (Mongo may be slow or down)
+    @Scheduled(initialDelayString = "${places.popularity.initial-delay-ms:5000}",
+            fixedDelayString = "${places.popularity.refresh-ms:600000}")
+    public void refreshPopularity() {
+        try {
+            Map<String, Long> counts = new HashMap<>();
+            countTrips("tripRequest.origin", counts);
+            countTrips("tripRequest.destination", counts);
+
+            popularity = Map.copyOf(counts);
+            trie = buildTrie();
+            log.info("Place popularity refreshed: {} places with trips", counts.size());
+        } catch (Exception e) {
+            log.warn("Place popularity refresh failed: {}", e.getMessage());
+        }
+    }
+
+    // free-text field in FareHistory → resolved place id → trip count
+    private void countTrips(String field, Map<String, Long> counts) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group(field).count().as("trips"));
+
+        for (Document row : mongoTemplate.aggregate(aggregation, FareHistory.class, Document.class)) {
+            String id = resolve(row.getString("_id"));
+            if (id != null) {
+                counts.merge(id, ((Number) row.get("trips")).longValue(), Long::sum);
+            }
+        }
+    }
+
+    private String resolve(String text) {
+        if (text == null) {
+            return null;
+        }
+        if (places.containsKey(text.trim().toLowerCase())) {
+            return text.trim().toLowerCase();
+        }
+        String id = idByName.get(PlaceKeys.normalize(text));
+        if (id == null && text.indexOf(',') >= 0) {
+            id = idByName.get(PlaceKeys.normalize(text.substring(0, text.indexOf(','))));
+        }
+        return id;
+    }
+
+    private double prior(PlaceSuggestionDTO place) {
+        String name = keysById.get(place.getId()).get(0);
+        if (place.getCity().equals(name) || place.getCity().startsWith(name + "-")) {
+            return 0.8;
+        }
+        return "station".equals(place.getType()) ? 0.5 : 0.0;
+    }
+
+    private static String displayName(String name, String city) {
+        return titleCase(name) + ", " + cityLabel(city);
+    }
+
+    private static String cityLabel(String city) {
+        return "delhi-ncr".equals(city) ? "Delhi NCR" : titleCase(city.replace('-', ' '));
+    }
+
+    private static String titleCase(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        boolean upper = true;
+        for (char c : s.toCharArray()) {
+            sb.append(upper ? Character.toUpperCase(c) : c);
+            upper = c == ' ';
+        }
+        return sb.toString();
+    }
+}
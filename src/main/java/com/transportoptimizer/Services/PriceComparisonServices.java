@@ -2,20 +2,35 @@ package com.transportoptimizer.Services;
 
 
 import com.transportoptimizer.entity.FareEstimate;
+import com.transportoptimizer.entity.FareRanking;
 import com.transportoptimizer.entity.ProviderFare;
 import com.transportoptimizer.entity.TripRequest;
-import com.transportoptimizer.provider.ProviderClient;
-import com.transportoptimizer.Repository.FareEstimateCacheRepository;
+import com.transportoptimizer.util.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
@@ -23,10 +38,38 @@ import java.util.stream.Collectors;
 public class PriceComparisonServices{
 
     private final DistanceService distanceService;
-    private final PriceNormalizationServices normalizationService;
-    private final FareEstimateCacheRepository cacheRepository;
-    private final List<ProviderClient> providerClients;
-    private final EmissionCalculationService emissionService;
+    private final FarePipelineService farePipeline;
+    private final FareEstimateCacheService estimateCache;
+    private final ProviderFanOutService fanOutService;
+    private final MeterRegistry meterRegistry;
+
+    @Qualifier("compareExecutor")
+    private final ExecutorService compareExecutor;
+
+    private final SingleFlight<String, FareEstimate> inFlight = new SingleFlight<>();
+
+    // streaming fan-outs in flight, by cache key → coalesced streaming callers join them
+    private final Map<String, FareBroadcast> streams = new ConcurrentHashMap<>();
+
+    // a coalesced caller stops waiting for the leader after this and loads on its own
+    @Value("${compare.singleflight.follower-wait-ms:5000}")
+    private long followerWaitMs;
+
+    @Value("${compare.batch.max-size:500}")
+    private int batchMaxSize;
+
+    @Value("${compare.batch.parallelism:8}")
+    private int batchParallelism;
+
+    @PostConstruct
+    void registerMetrics() {
+        FunctionCounter.builder("compare.singleflight.leaders", inFlight, SingleFlight::leaders)
+                .register(meterRegistry);
+        FunctionCounter.builder("compare.singleflight.coalesced", inFlight, SingleFlight::followers)
+                .register(meterRegistry);
+        FunctionCounter.builder("compare.singleflight.follower.timeouts", inFlight, SingleFlight::followerTimeouts)
+                .register(meterRegistry);
+    }
 
     public FareEstimate compareFares(TripRequest tripRequest) {
         long start = System.currentTimeMillis();
@@ -34,62 +77,239 @@ public class PriceComparisonServices{
         String origin = tripRequest.getOrigin();
         String destination = tripRequest.getDestination();
 
-        // 1) Compute distance
-        double distanceKm = distanceService.calculateDistanceKm(origin, destination);
+        // 0) Read-through cache (L1 memory → L2 Mongo)
+        String cacheKey = estimateCache.cacheKey(tripRequest);
+        Optional<FareEstimate> cached = estimateCache.get(cacheKey);
+        if (cached.isPresent()) {
+            log.info("Fare cache hit for {} -> {} in {} ms",
+                    origin, destination, System.currentTimeMillis() - start);
+            return cached.get();
+        }
+
+        // identical concurrent compares share one distance lookup + fan-out
+        FareEstimate estimate = inFlight.execute(cacheKey, followerWaitMs, () -> computeFares(
+                tripRequest,
+                cacheKey,
+                distanceService.calculateDistanceKm(origin, destination)
+        ));
+
+        long end = System.currentTimeMillis();
+        log.info("Fare comparison completed in {} ms for userId={}",
+                (end - start), tripRequest.getUserId());
+
+        return estimate;
+    }
+
+    /**
+     * Compares many trips at once. Trips sharing a cache key share one fan-out,
+     * trips sharing origin/destination share one distance lookup.
+     *
+     * @return one future per input trip, same order; invalid trips fail individually
+     */
+    public List<CompletableFuture<FareEstimate>> compareFaresBatch(List<TripRequest> tripRequests)
+            throws InterruptedException {
+        if (tripRequests.size() > batchMaxSize) {
+            throw new IllegalArgumentException(
+                    "Batch too large: " + tripRequests.size() + " trips (max " + batchMaxSize + ")");
+        }
+
+        long start = System.currentTimeMillis();
+
+        Map<String, CompletableFuture<FareEstimate>> byCacheKey = new HashMap<>();
+        Map<String, CompletableFuture<Double>> distances = new ConcurrentHashMap<>();
+        List<CompletableFuture<FareEstimate>> results = new ArrayList<>(tripRequests.size());
+        Semaphore permits = new Semaphore(batchParallelism);
+
+        for (TripRequest trip : tripRequests) {
+            if (trip.getOrigin() == null || trip.getOrigin().isBlank()
+                    || trip.getDestination() == null || trip.getDestination().isBlank()) {
+                results.add(CompletableFuture.failedFuture(
+                        new IllegalArgumentException("origin and destination are required")));
+                continue;
+            }
 
+            String cacheKey = estimateCache.cacheKey(trip);
+            CompletableFuture<FareEstimate> shared = byCacheKey.get(cacheKey);
+
+            if (shared == null) {
+                permits.acquire();
+                Supplier<FareEstimate> task = () -> estimateCache.get(cacheKey).orElseGet(() ->
+                        inFlight.execute(cacheKey, followerWaitMs, () -> computeFares(
+                                trip,
+                                cacheKey,
+                                sharedDistance(distances, trip)
+                        )));
+                try {
+                    shared = CompletableFuture.supplyAsync(task, compareExecutor);
+                } catch (RejectedExecutionException e) {
+                    // pool saturated → run on the request thread instead of failing the trip
+                    shared = runInline(task);
+                }
+                shared.whenComplete((estimate, ex) -> permits.release());
+                byCacheKey.put(cacheKey, shared);
+            }
+            results.add(shared);
+        }
+
+        log.info("Batch of {} trips → {} distinct fan-outs (scheduled in {} ms)",
+                tripRequests.size(), byCacheKey.size(), System.currentTimeMillis() - start);
+
+        return results;
+    }
+
+    private double sharedDistance(Map<String, CompletableFuture<Double>> distances, TripRequest trip) {
+        CompletableFuture<Double> mine = new CompletableFuture<>();
+        CompletableFuture<Double> existing = distances.putIfAbsent(estimateCache.routeKey(trip), mine);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            double km = distanceService.calculateDistanceKm(trip.getOrigin(), trip.getDestination());
+            mine.complete(km);
+            return km;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private CompletableFuture<FareEstimate> runInline(Supplier<FareEstimate> task) {
+        try {
+            return CompletableFuture.completedFuture(task.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private FareEstimate computeFares(TripRequest tripRequest, String cacheKey, double distanceKm) {
+        String origin = tripRequest.getOrigin();
+        String destination = tripRequest.getDestination();
+
+        // 1) Distance is resolved by the caller
         log.info("Distance between '{}' and '{}' computed as {} km",
                 origin, destination, distanceKm);
 
-        // 2) Query all providers in parallel
-        List<ProviderFare> rawFares = providerClients
-                .parallelStream()
-                .flatMap(provider -> {
-                    try {
-                        List<ProviderFare> fares = provider.getFaresBatch(
-                                origin,
-                                destination,
-                                distanceKm,
-                                tripRequest.getOptions()
-                        );
-                        log.debug("Provider {} returned {} fares", provider.providerId(), fares.size());
-                        return fares.stream();
-                    } catch (Exception e) {
-                        log.error("Error from provider {}: {}", provider.providerId(), e.getMessage());
-                        return java.util.stream.Stream.empty();
-                    }
-                })
-                .collect(Collectors.toList());
+        // 2) Query all providers on the dedicated fan-out pool
+        ProviderFanOutService.FanOutResult fanOut =
+                fanOutService.fanOut(tripRequest, distanceKm);
 
+        return buildEstimate(tripRequest, cacheKey, distanceKm, fanOut);
+    }
 
-        // 3) Normalize fares
-        List<ProviderFare> normalizedFares =
-                normalizationService.normalizeAll(rawFares, distanceKm);
+    /**
+     * Same pipeline as {@link #compareFares(TripRequest)}, but hands every provider's
+     * normalized + CO2-annotated fares to {@code onProviderFares} as soon as they arrive
+     * (pushed from the provider's completion, one call at a time per compare).
+     * Identical concurrent streaming compares share one fan-out: a follower first gets
+     * the fares that already arrived, then the rest. A follower of a non-streaming compare
+     * only gets the final estimate.
+     */
+    public FareEstimate compareFaresStreaming(
+            TripRequest tripRequest,
+            BiConsumer<String, List<ProviderFare>> onProviderFares
+    ) {
+        String origin = tripRequest.getOrigin();
+        String destination = tripRequest.getDestination();
 
-        // CO2
-        normalizedFares.forEach(fare -> {
+        String cacheKey = estimateCache.cacheKey(tripRequest);
+        Optional<FareEstimate> cached = estimateCache.get(cacheKey);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
 
-            Map<String, Object> meta = fare.getMetadata();
+        FareBroadcast existing = streams.get(cacheKey);
+        FareBroadcast joined = existing != null && existing.subscribe(onProviderFares) ? existing : null;
 
-            double surgeFactor = 1.0;
-            if (meta != null && meta.containsKey("surgeFactor")) {
-                surgeFactor = ((Number) meta.get("surgeFactor")).doubleValue();
-            }
+        try {
+            return inFlight.execute(cacheKey, followerWaitMs, () -> {
+                // gave up on a slow leader → only this fan-out's fares from here on
+                if (joined != null) {
+                    joined.unsubscribe(onProviderFares);
+                }
+                FareBroadcast broadcast = new FareBroadcast();
+                broadcast.subscribe(onProviderFares);
+                streams.put(cacheKey, broadcast);
+                try {
+                    double distanceKm = distanceService.calculateDistanceKm(origin, destination);
 
-            double co2 = emissionService.calculate(
-                    fare.getVehicleType(),
-                    fare.getDistanceKm(),
-                    surgeFactor
-            );
+                    // annotated once, on arrival; the estimate is built from exactly what was streamed
+                    ProviderFanOutService.FanOutResult fanOut = awaitStreaming(fanOutService.fanOutAsync(
+                            tripRequest,
+                            distanceKm,
+                            (provider, fares) -> {
+                                if (!fares.isEmpty()) {
+                                    broadcast.publish(provider.providerId(),
+                                            farePipeline.annotateAll(fares, distanceKm));
+                                }
+                            }
+                    ), broadcast, onProviderFares);
 
-            meta.put("co2EmissionKg", co2);
-        });
+                    return buildEstimate(tripRequest, cacheKey, distanceKm,
+                            farePipeline.rank(broadcast.close()), fanOut.getTimedOutProviders());
+                } finally {
+                    broadcast.close();
+                    streams.remove(cacheKey, broadcast);
+                    broadcast.unsubscribe(onProviderFares);
+                }
+            });
+        } finally {
+            if (joined != null) {
+                joined.unsubscribe(onProviderFares);
+            }
+        }
+    }
+
+    /**
+     * Waits for a streaming fan-out. Interrupted = this caller's client went away:
+     * it stops listening, and the provider calls are cancelled unless other streaming
+     * clients still listen (coalesced sync callers then load on their own).
+     */
+    private ProviderFanOutService.FanOutResult awaitStreaming(
+            CompletableFuture<ProviderFanOutService.FanOutResult> fanOut,
+            FareBroadcast broadcast,
+            BiConsumer<String, List<ProviderFare>> onProviderFares
+    ) {
+        while (true) {
+            try {
+                return fanOut.get();
+            } catch (InterruptedException e) {
+                broadcast.unsubscribe(onProviderFares);
+                if (!broadcast.hasListeners()) {
+                    fanOut.cancel(true);
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("Streaming compare abandoned by its clients");
+                }
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : new CompletionException(e.getCause());
+            }
+        }
+    }
 
+    private FareEstimate buildEstimate(
+            TripRequest tripRequest,
+            String cacheKey,
+            double distanceKm,
+            ProviderFanOutService.FanOutResult fanOut
+    ) {
+        // 3+4) Normalize, CO2, sort by price and rank in one pipeline
+        return buildEstimate(tripRequest, cacheKey, distanceKm,
+                farePipeline.process(fanOut.getFares(), distanceKm), fanOut.getTimedOutProviders());
+    }
 
+    private FareEstimate buildEstimate(
+            TripRequest tripRequest,
+            String cacheKey,
+            double distanceKm,
+            FareRanking ranking,
+            List<String> timedOutProviders
+    ) {
+        String origin = tripRequest.getOrigin();
+        String destination = tripRequest.getDestination();
 
-        // 4) Sort fares by price
-        List<ProviderFare> sortedFares = normalizedFares.stream()
-                .sorted(Comparator.comparingDouble(ProviderFare::getPrice))
-                .collect(Collectors.toList());
+        if (!timedOutProviders.isEmpty()) {
+            log.warn("Providers timed out for {} -> {}: {}",
+                    origin, destination, timedOutProviders);
+        }
 
         // 5) Build FareEstimate
         FareEstimate estimate = FareEstimate.builder()
@@ -97,28 +317,114 @@ public class PriceComparisonServices{
                 .origin(origin)
                 .destination(destination)
                 .totalDistanceKm(distanceKm)
-                .providerFares(sortedFares)
+                .providerFares(ranking.getSortedFares())
+                .ranking(ranking)
+                .timedOutProviders(timedOutProviders)
                 .timestamp(Instant.now())
                 .build();
 
-        // 6) Save to cache if distance < 100 km
-        if (distanceKm < 100) {
-            try {
-                cacheRepository.save(estimate);
-                log.info("FareEstimate cached for {} -> {}", origin, destination);
-            } catch (Exception e) {
-                log.error("Failed to cache FareEstimate: {}", e.getMessage());
-            }
+        // 6) Cache if distance < 100 km and every provider answered
+        if (distanceKm < 100 && timedOutProviders.isEmpty()) {
+            estimateCache.put(cacheKey, estimate);
         }
 
-        long end = System.currentTimeMillis();
-        log.info("Fare comparison completed in {} ms for userId={}",
-                (end - start), tripRequest.getUserId());
-
         return estimate;
     }
 
+    /**
+     * Non-blocking variant of {@link #compareFares(TripRequest)}:
+     * cache lookup → distance (distanceExecutor) → fan-out (providerExecutor)
+     * → normalize/CO2/sort (compareExecutor). No caller thread is held.
+     */
     public CompletableFuture<FareEstimate> compareFaresAsync(TripRequest tripRequest) {
-        return CompletableFuture.supplyAsync(() -> compareFares(tripRequest));
+        long start = System.currentTimeMillis();
+
+        String origin = tripRequest.getOrigin();
+        String destination = tripRequest.getDestination();
+        String cacheKey = estimateCache.cacheKey(tripRequest);
+
+        // L2 lookup may hit Mongo → keep it off the caller thread as well
+        return CompletableFuture
+                .supplyAsync(() -> estimateCache.get(cacheKey), compareExecutor)
+                .thenCompose(cached -> cached
+                        .map(CompletableFuture::completedFuture)
+                        .orElseGet(() -> inFlight.executeAsync(cacheKey, () -> distanceService
+                                .calculateDistanceKmAsync(origin, destination)
+                                .thenCompose(distanceKm -> fanOutService
+                                        .fanOutAsync(tripRequest, distanceKm)
+                                        .thenApplyAsync(fanOut -> buildEstimate(
+                                                tripRequest,
+                                                cacheKey,
+                                                distanceKm,
+                                                fanOut
+                                        ), compareExecutor)))))
+                .whenComplete((estimate, ex) -> {
+                    if (ex == null) {
+                        log.info("Async fare comparison completed in {} ms for userId={}",
+                                System.currentTimeMillis() - start, tripRequest.getUserId());
+                    }
+                });
+    }
+
+    /**
+     * Per-provider fares of one streaming fan-out, replayed to late subscribers.
+     * Listeners are called under the lock → one event at a time, in arrival order;
+     * they must only hand the fares off (the SSE controller queues them), never block.
+     */
+    private static final class FareBroadcast {
+        private final List<Map.Entry<String, List<ProviderFare>>> published = new ArrayList<>();
+        private final List<BiConsumer<String, List<ProviderFare>>> listeners = new ArrayList<>();
+        private boolean closed;
+
+        // false when the fan-out is already over
+        synchronized boolean subscribe(BiConsumer<String, List<ProviderFare>> listener) {
+            if (closed) {
+                return false;
+            }
+            for (Map.Entry<String, List<ProviderFare>> entry : published) {
+                deliver(listener, entry.getKey(), entry.getValue());
+            }
+            listeners.add(listener);
+            return true;
+        }
+
+        synchronized void unsubscribe(BiConsumer<String, List<ProviderFare>> listener) {
+            listeners.remove(listener);
+        }
+
+        synchronized boolean hasListeners() {
+            return !listeners.isEmpty();
+        }
+
+        synchronized void publish(String providerId, List<ProviderFare> fares) {
+            // arrived after the estimate was built → neither streamed nor in the result
+            if (closed) {
+                return;
+            }
+            published.add(Map.entry(providerId, fares));
+            for (BiConsumer<String, List<ProviderFare>> listener : listeners) {
+                deliver(listener, providerId, fares);
+            }
+        }
+
+        // every published fare; nothing is accepted afterwards
+        synchronized List<ProviderFare> close() {
+            closed = true;
+            List<ProviderFare> fares = new ArrayList<>();
+            for (Map.Entry<String, List<ProviderFare>> entry : published) {
+                fares.addAll(entry.getValue());
+            }
+            return fares;
+        }
+
+        private static void deliver(BiConsumer<String, List<ProviderFare>> listener,
+                                    String providerId, List<ProviderFare> fares) {
+            try {
+                listener.accept(providerId, fares);
+            } catch (Exception e) {
+                // one broken client must not stop the others
+                log.warn("Streaming listener failed for provider {}: {}", providerId, e.getMessage());
+            }
+        }
     }
 }
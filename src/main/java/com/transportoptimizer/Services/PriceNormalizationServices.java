@@ -5,9 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 @Service
 @Slf4j
@@ -20,13 +18,6 @@ public class PriceNormalizationServices{
 
         double normalizedPrice = roundTo2(rawFare.getPrice());
 
-        Map<String, Object> meta = rawFare.getMetadata() != null
-                ? new HashMap<>(rawFare.getMetadata())
-                : new HashMap<>();
-
-        meta.put("normalized", true);
-        meta.put("distanceKm", distanceKm);
-
         ProviderFare normalized = ProviderFare.builder()
                 .providerId(rawFare.getProviderId())
                 .providerName(rawFare.getProviderName())
@@ -35,8 +26,15 @@ public class PriceNormalizationServices{
                 .etaMinutes(rawFare.getEtaMinutes())
                 .isSurge(rawFare.isSurge())
                 .currency("INR")
-                .metadata(meta)
                 .vehicleType(rawFare.getVehicleType())
+                .productName(rawFare.getProductName())
+                .baseFare(rawFare.getBaseFare())
+                .ratePerKm(rawFare.getRatePerKm())
+                .distanceFare(rawFare.getDistanceFare())
+                .surgeFactor(rawFare.getSurgeFactor())
+                .co2SavedKg(rawFare.getCo2SavedKg())
+                .normalized(true)
+                .metadata(rawFare.getMetadata())   // immutable extras, shared
                 .build();
 
         log.debug("Normalized fare for provider {}: {} (INR) at distance {} km",
@@ -45,6 +43,17 @@ public class PriceNormalizationServices{
         return normalized;
     }
 
+    /**
+     * Same rules as {@link #normalize}, applied to the fare itself (no copy).
+     */
+    public ProviderFare normalizeInPlace(ProviderFare fare, double distanceKm) {
+        fare.setPrice(roundTo2(fare.getPrice()));
+        fare.setDistanceKm(distanceKm);
+        fare.setCurrency("INR");
+        fare.setNormalized(true);
+        return fare;
+    }
+
     public List<ProviderFare> normalizeAll(List<ProviderFare> raw, double distanceKm) {
         if (raw == null) {
             return List.of();
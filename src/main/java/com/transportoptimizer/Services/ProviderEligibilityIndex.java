@@ -0,0 +1,148 @@
+package com.transportoptimizer.Services;
+
+import com.transportoptimizer.entity.TripRequest;
+import com.transportoptimizer.provider.ProviderClient;
+import com.transportoptimizer.provider.ProviderEligibility;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * Decides which providers a trip is dispatched to.
+ * Static constraints are compiled into provider bitmasks (city, vehicle type)
+ * and distance arrays; route checks (already cheap lookups) run only for what's left.
+ */
+@Component
+@Slf4j
+public class ProviderEligibilityIndex {
+
+    private final GazetteerService gazetteer;
+
+    private final ProviderClient[] providers;
+    private final double[] minKm;
+    private final double[] maxKm;
+    private final List<BiPredicate<String, String>> routeChecks;
+    private final Counter[] skipped;
+
+    private final long allMask;
+    // providers without a city constraint + city → providers serving it
+    private final long anyCityMask;
+    private final Map<String, Long> cityMask = new HashMap<>();
+    // providers without vehicle declaration + type → providers offering it
+    private final long anyVehicleMask;
+    private final Map<String, Long> vehicleMask = new HashMap<>();
+
+    public ProviderEligibilityIndex(
+            List<ProviderClient> providerClients,
+            GazetteerService gazetteer,
+            MeterRegistry meterRegistry
+    ) {
+        if (providerClients.size() > 64) {
+            throw new IllegalStateException("Eligibility bitmask supports at most 64 providers");
+        }
+        this.gazetteer = gazetteer;
+        this.providers = providerClients.toArray(new ProviderClient[0]);
+        this.minKm = new double[providers.length];
+        this.maxKm = new double[providers.length];
+        this.routeChecks = new ArrayList<>(providers.length);
+        this.skipped = new Counter[providers.length];
+
+        long any = 0;
+        long anyCity = 0;
+        long anyVehicle = 0;
+        for (int i = 0; i < providers.length; i++) {
+            ProviderEligibility e = providers[i].eligibility();
+            long bit = 1L << i;
+            any |= bit;
+            minKm[i] = e.minDistanceKm();
+            maxKm[i] = e.maxDistanceKm();
+            routeChecks.add(e.routeCheck());
+            skipped[i] = Counter.builder("fanout.providers.skipped")
+                    .tag("provider", providers[i].providerId())
+                    .register(meterRegistry);
+
+            if (e.cities().isEmpty()) {
+                anyCity |= bit;
+            }
+            for (String city : e.cities()) {
+                cityMask.merge(city, bit, (a, b) -> a | b);
+            }
+            if (e.vehicleTypes().isEmpty()) {
+                anyVehicle |= bit;
+            }
+            for (String type : e.vehicleTypes()) {
+                vehicleMask.merge(type, bit, (a, b) -> a | b);
+            }
+        }
+        this.allMask = any;
+        this.anyCityMask = anyCity;
+        this.anyVehicleMask = anyVehicle;
+    }
+
+    /**
+     * Providers that can serve this trip, in registration order.
+     */
+    public List<ProviderClient> eligible(TripRequest tripRequest, double distanceKm) {
+        String origin = tripRequest.getOrigin();
+        String destination = tripRequest.getDestination();
+
+        long mask = allMask;
+
+        // city known → only providers operating there (unknown city → no city filter)
+        String city = gazetteer.cityOf(origin);
+        if (city != null) {
+            mask &= anyCityMask | cityMask.getOrDefault(city, 0L);
+        }
+
+        Collection<?> requestedTypes = requestedVehicleTypes(tripRequest);
+        if (requestedTypes != null && !requestedTypes.isEmpty()) {
+            long types = anyVehicleMask;
+            for (Object type : requestedTypes) {
+                types |= vehicleMask.getOrDefault(String.valueOf(type), 0L);
+            }
+            mask &= types;
+        }
+
+        List<ProviderClient> result = new ArrayList<>(providers.length);
+        for (int i = 0; i < providers.length; i++) {
+            boolean ok = (mask & (1L << i)) != 0
+                    && distanceKm >= minKm[i] && distanceKm <= maxKm[i];
+
+            if (ok && routeChecks.get(i) != null) {
+                ok = passesRouteCheck(i, origin, destination);
+            }
+
+            if (ok) {
+                result.add(providers[i]);
+            } else {
+                skipped[i].increment();
+            }
+        }
+        return result;
+    }
+
+    private boolean passesRouteCheck(int i, String origin, String destination) {
+        try {
+            return routeChecks.get(i).test(origin, destination);
+        } catch (Exception e) {
+            // a broken check must not hide the provider
+            log.warn("Eligibility check of {} failed: {}", providers[i].providerId(), e.getMessage());
+            return true;
+        }
+    }
+
+    // options.vehicleTypes = ["bike", "auto"] → only providers offering one of them
+    private static Collection<?> requestedVehicleTypes(TripRequest tripRequest) {
+        Map<String, Object> options = tripRequest.getOptions();
+        Object types = options == null ? null : options.get("vehicleTypes");
+        return types instanceof Collection<?> c ? c : null;
+    }
+}
@@ -0,0 +1,290 @@
+package com.transportoptimizer.Services;
+
+import com.transportoptimizer.config.FanOutProperties;
+import com.transportoptimizer.entity.ProviderFare;
+import com.transportoptimizer.entity.TripRequest;
+import com.transportoptimizer.provider.ProviderClient;
+import com.transportoptimizer.provider.resilience.CircuitOpenException;
+import com.transportoptimizer.provider.resilience.ProviderGuard;
+import com.transportoptimizer.provider.resilience.ProviderResilienceRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Calls every eligible provider on the dedicated provider pool.
+ * Each provider gets its own deadline, the whole fan-out gets one request budget;
+ * whatever arrived in time is returned, the rest is reported as timed out.
+ * Every call goes through the provider's {@link ProviderGuard}
+ * (circuit breaker, adaptive timeout, hedged duplicate for long-tail providers).
+ */
+@Service
+@Slf4j
+public class ProviderFanOutService {
+
+    private final ProviderEligibilityIndex eligibilityIndex;
+    private final ExecutorService providerExecutor;
+    private final FanOutProperties properties;
+    private final ProviderResilienceRegistry resilience;
+
+    public ProviderFanOutService(
+            ProviderEligibilityIndex eligibilityIndex,
+            @Qualifier("providerExecutor") ExecutorService providerExecutor,
+            FanOutProperties properties,
+            ProviderResilienceRegistry resilience
+    ) {
+        this.eligibilityIndex = eligibilityIndex;
+        this.providerExecutor = providerExecutor;
+        this.properties = properties;
+        this.resilience = resilience;
+    }
+
+    public FanOutResult fanOut(TripRequest tripRequest, double distanceKm) {
+        return fanOutAsync(tripRequest, distanceKm).join();
+    }
+
+    public CompletableFuture<FanOutResult> fanOutAsync(TripRequest tripRequest, double distanceKm) {
+        return fanOutAsync(tripRequest, distanceKm, null);
+    }
+
+    /**
+     * @param onProviderFares optional callback, invoked on the provider thread as soon as
+     *                        a provider answers within its deadline (before the result completes)
+     */
+    public CompletableFuture<FanOutResult> fanOutAsync(
+            TripRequest tripRequest,
+            double distanceKm,
+            BiConsumer<ProviderClient, List<ProviderFare>> onProviderFares
+    ) {
+        // only providers that can serve this trip get a pool slot
+        List<ProviderClient> eligible = eligibilityIndex.eligible(tripRequest, distanceKm);
+        List<ProviderCall> calls = new ArrayList<>(eligible.size());
+        List<CompletableFuture<?>> settled = new ArrayList<>(eligible.size());
+
+        for (ProviderClient provider : eligible) {
+            long timeoutMs = properties.timeoutFor(provider.providerId());
+            CompletableFuture<List<ProviderFare>> result = dispatch(provider, tripRequest, distanceKm, timeoutMs);
+            calls.add(new ProviderCall(provider, result));
+            settled.add(result.handle((fares, ex) -> {
+                if (ex == null && onProviderFares != null) {
+                    notify(onProviderFares, provider, fares);
+                }
+                return null;
+            }));
+        }
+
+        // global budget: stop waiting even if some deadline is misconfigured
+        CompletableFuture<FanOutResult> fanOut = CompletableFuture.allOf(settled.toArray(CompletableFuture[]::new))
+                .completeOnTimeout(null, properties.getRequestBudgetMs(), TimeUnit.MILLISECONDS)
+                .handle((ignored, ex) -> collect(calls));
+
+        // cancelled by the caller (nobody wants the result any more) → free the provider threads
+        fanOut.whenComplete((result, ex) -> {
+            if (ex instanceof CancellationException) {
+                for (ProviderCall call : calls) {
+                    call.getResult().cancel(true);
+                }
+            }
+        });
+        return fanOut;
+    }
+
+    private void notify(
+            BiConsumer<ProviderClient, List<ProviderFare>> listener,
+            ProviderClient provider,
+            List<ProviderFare> fares
+    ) {
+        try {
+            List<ProviderFare> nonNull = fares == null ? List.of()
+                    : fares.stream().filter(Objects::nonNull).toList();
+            listener.accept(provider, nonNull);
+        } catch (Exception e) {
+            log.error("Fan-out listener failed for provider {}: {}", provider.providerId(), e.getMessage());
+        }
+    }
+
+    private CompletableFuture<List<ProviderFare>> dispatch(
+            ProviderClient provider,
+            TripRequest tripRequest,
+            double distanceKm,
+            long configuredTimeoutMs
+    ) {
+        CompletableFuture<List<ProviderFare>> result = new CompletableFuture<>();
+        ProviderGuard guard = resilience.guard(provider.providerId());
+
+        // breaker open → don't even spend a thread on it
+        if (!guard.tryAcquire()) {
+            result.completeExceptionally(new CircuitOpenException(provider.providerId()));
+            return result;
+        }
+
+        long timeoutMs = guard.timeoutMs(configuredTimeoutMs);
+        long startNanos = System.nanoTime();
+        List<Attempt> attempts = new CopyOnWriteArrayList<>();
+        AtomicInteger pending = new AtomicInteger();
+
+        submitAttempt(provider, tripRequest, distanceKm, result, attempts, pending, false);
+
+        // hedge: provider with a long tail gets a duplicate call after ~p95
+        long hedgeDelayMs = guard.hedgeDelayMs();
+        if (hedgeDelayMs > 0 && hedgeDelayMs < timeoutMs) {
+            CompletableFuture.delayedExecutor(hedgeDelayMs, TimeUnit.MILLISECONDS).execute(() -> {
+                if (!result.isDone()) {
+                    guard.recordHedge();
+                    submitAttempt(provider, tripRequest, distanceKm, result, attempts, pending, true);
+                }
+            });
+        }
+
+        result.whenComplete((fares, ex) -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof CancellationException) {
+                // cancelled by us (request budget spent) → says nothing about the provider
+                guard.release();
+            } else {
+                guard.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), cause);
+            }
+            // deadline hit / hedge lost → free the worker threads
+            for (Attempt attempt : attempts) {
+                attempt.cancelUnlessCurrent();
+            }
+        });
+
+        return result.orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void submitAttempt(
+            ProviderClient provider,
+            TripRequest tripRequest,
+            double distanceKm,
+            CompletableFuture<List<ProviderFare>> result,
+            List<Attempt> attempts,
+            AtomicInteger pending,
+            boolean hedge
+    ) {
+        Attempt attempt = new Attempt();
+        pending.incrementAndGet();
+        // registered before it can run → a result completing meanwhile still cancels it
+        attempts.add(attempt);
+
+        try {
+            attempt.future = providerExecutor.submit(() -> {
+                attempt.runner = Thread.currentThread();
+                try {
+                    List<ProviderFare> fares = provider.getFaresBatch(
+                            tripRequest.getOrigin(),
+                            tripRequest.getDestination(),
+                            distanceKm,
+                            tripRequest.getOptions()
+                    );
+                    // complete() is the single arbiter of which attempt won
+                    if (result.complete(fares) && hedge) {
+                        resilience.guard(provider.providerId()).recordHedgeWin();
+                    }
+                } catch (Throwable t) {
+                    // with a hedge in flight, only the last failure fails the call
+                    if (pending.decrementAndGet() == 0) {
+                        result.completeExceptionally(t);
+                    }
+                } finally {
+                    attempt.runner = null;
+                }
+            });
+            if (result.isDone()) {
+                // finished before the future was published → cancel it ourselves
+                attempt.cancelUnlessCurrent();
+            }
+        } catch (RejectedExecutionException e) {
+            attempts.remove(attempt);
+            if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private FanOutResult collect(List<ProviderCall> calls) {
+        List<ProviderFare> fares = new ArrayList<>();
+        List<String> timedOut = new ArrayList<>();
+        List<String> failed = new ArrayList<>();
+
+        for (ProviderCall call : calls) {
+            String providerId = call.getProvider().providerId();
+            CompletableFuture<List<ProviderFare>> result = call.getResult();
+
+            if (!result.isDone()) {
+                // request budget exhausted before this provider answered
+                result.cancel(true);
+                timedOut.add(providerId);
+                continue;
+            }
+
+            try {
+                List<ProviderFare> providerFares = result.join();
+                if (providerFares != null) {
+                    for (ProviderFare fare : providerFares) {
+                        if (fare != null) {
+                            fares.add(fare);
+                        }
+                    }
+                }
+                log.debug("Provider {} returned {} fares", providerId,
+                        providerFares == null ? 0 : providerFares.size());
+            } catch (CompletionException | CancellationException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof TimeoutException || e instanceof CancellationException) {
+                    log.warn("Provider {} timed out", providerId);
+                    timedOut.add(providerId);
+                } else {
+                    log.error("Error from provider {}: {}", providerId, cause.getMessage());
+                    failed.add(providerId);
+                }
+            }
+        }
+
+        return new FanOutResult(fares, timedOut, failed);
+    }
+
+    private static class Attempt {
+        private volatile Future<?> future;
+        private volatile Thread runner;
+
+        void cancelUnlessCurrent() {
+            // never interrupt the thread that is completing the result
+            if (future != null && runner != Thread.currentThread()) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class ProviderCall {
+        private ProviderClient provider;
+        private CompletableFuture<List<ProviderFare>> result;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class FanOutResult {
+        private List<ProviderFare> fares;
+        private List<String> timedOutProviders;
+        private List<String> failedProviders;
+    }
+}
@@ -1,6 +1,7 @@
 package com.transportoptimizer.Services;
 
 import com.transportoptimizer.entity.FareEstimate;
+import com.transportoptimizer.entity.FareRanking;
 import com.transportoptimizer.entity.ProviderFare;
 import com.transportoptimizer.entity.Suggestion;
 import com.transportoptimizer.entity.TripRequest;
@@ -9,7 +10,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
@@ -40,10 +40,7 @@ public class RecommendationService {
                         .build();
             }
 
-            ProviderFare userChosenFare = fares.stream()
-                    .filter(f -> f.getProviderId().equals(userChosenId))
-                    .findFirst()
-                    .orElse(null);
+            ProviderFare userChosenFare = fareEstimate.ranking().byProviderId(userChosenId);
 
 
             if (userChosenFare != null) {
@@ -57,10 +54,10 @@ public class RecommendationService {
             }
         }
 
-        List<ProviderFare> fares = fareEstimate.getProviderFares();
+        FareRanking ranking = fareEstimate.ranking();
 
 
-        if (fares == null || fares.isEmpty()) {
+        if (ranking.isEmpty()) {
             return Suggestion.builder()
                     .suggestionId("sugg-" + System.currentTimeMillis())
                     .chosenProviderId(null)
@@ -74,9 +71,7 @@ public class RecommendationService {
 
         // Rule 1: cheapest
         if (tripRequest.isPreferCheapest()) {
-            chosen = fares.stream()
-                    .min(Comparator.comparingDouble(ProviderFare::getPrice))
-                    .orElse(null);
+            chosen = ranking.cheapest();
 
             return Suggestion.builder()
                     .suggestionId("sugg-" + System.currentTimeMillis())
@@ -89,9 +84,7 @@ public class RecommendationService {
 
         // Rule 2: fastest
         if (tripRequest.isPreferFastest()) {
-            chosen = fares.stream()
-                    .min(Comparator.comparingInt(ProviderFare::getEtaMinutes))
-                    .orElse(null);
+            chosen = ranking.fastest();
 
             return Suggestion.builder()
                     .suggestionId("sugg-" + System.currentTimeMillis())
@@ -102,12 +95,8 @@ public class RecommendationService {
                     .build();
         }
 
-        // Rule 3: hybrid scoring
-        chosen = fares.stream()
-                .min(Comparator.comparingDouble(
-                        f -> f.getPrice() + f.getEtaMinutes() * 0.2
-                ))
-                .orElse(null);
+        // Rule 3: hybrid scoring (precomputed by the compare pipeline)
+        chosen = ranking.hybridBest();
 
         return Suggestion.builder()
                 .suggestionId("sugg-" + System.currentTimeMillis())
@@ -127,11 +116,7 @@ public class RecommendationService {
                     ? ((Number) result.get("confidence")).doubleValue()
                     : 0.5;
 
-            ProviderFare chosenFare = fareEstimate.getProviderFares()
-                    .stream()
-                    .filter(f -> f.getProviderId().equals(chosenProviderId))
-                    .findFirst()
-                    .orElse(null);
+            ProviderFare chosenFare = fareEstimate.ranking().byProviderId(chosenProviderId);
 
             if (chosenFare == null) {
                 log.warn("TogetherAI returned unknown providerId {}. Falling back.", chosenProviderId);
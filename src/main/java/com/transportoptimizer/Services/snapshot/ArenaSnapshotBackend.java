@@ -0,0 +1,207 @@
+package com.transportoptimizer.Services.snapshot;
+
+import com.transportoptimizer.entity.FareEstimate;
+import com.transportoptimizer.util.SlabArena;
+import com.transportoptimizer.util.StringDictionary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * snapshot.backend=arena: snapshots kept off-heap as {@link CompactSnapshotCodec} records
+ * inside a fixed {@code snapshot.arena.budget-mb} budget. The heap only holds a small index
+ * entry per snapshot (~150 B) instead of the full FareEstimate graph.
+ * When a size class is full, its oldest snapshot is evicted (same TTL for all → oldest expires first).
+ * Local to this instance, like the memory backend.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "snapshot.backend", havingValue = "arena")
+@ConditionalOnSnapshotStore
+public class ArenaSnapshotBackend implements SnapshotBackend {
+
+    private final SlabArena arena;
+    private final CompactSnapshotCodec codec;
+    private final StringDictionary dictionary;
+    private final long ttlMillis;
+
+    // guarded by this
+    private final Map<String, Slot> index = new HashMap<>();
+    private final List<ArrayDeque<Slot>> oldestFirst;
+
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public ArenaSnapshotBackend(
+            MeterRegistry meterRegistry,
+            @Value("${snapshot.arena.budget-mb:64}") long budgetMb,
+            @Value("${snapshot.arena.slab-kb:1024}") int slabKb,
+            @Value("${snapshot.arena.dictionary-size:65536}") int dictionarySize,
+            @Value("${snapshot.ttl-minutes:30}") long ttlMinutes
+    ) {
+        this.arena = new SlabArena(budgetMb << 20, slabKb << 10, 64, 8192);
+        this.dictionary = new StringDictionary(dictionarySize);
+        this.codec = new CompactSnapshotCodec(dictionary);
+        this.ttlMillis = ttlMinutes * 60_000L;
+
+        int classes = arena.sizeClass(8192) + 1;
+        this.oldestFirst = new ArrayList<>(classes);
+        for (int c = 0; c < classes; c++) {
+            oldestFirst.add(new ArrayDeque<>());
+        }
+
+        Gauge.builder("compare.snapshots.live", this, ArenaSnapshotBackend::live).register(meterRegistry);
+        Gauge.builder("compare.snapshots.memory.estimate", this, ArenaSnapshotBackend::usedBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("compare.snapshots.arena.reserved", this, ArenaSnapshotBackend::reservedBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("compare.snapshots.arena.capacity", arena, SlabArena::capacityBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("compare.snapshots.dictionary.size", dictionary, StringDictionary::size).register(meterRegistry);
+        FunctionCounter.builder("compare.snapshots.expired", expired, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("compare.snapshots.evicted", evicted, LongAdder::sum).register(meterRegistry);
+        FunctionCounter.builder("compare.snapshots.rejected", rejected, LongAdder::sum).register(meterRegistry);
+    }
+
+    @Override
+    public void save(String snapshotId, FareEstimate estimate) {
+        // encode outside the lock
+        byte[] record = codec.encode(estimate);
+        int sizeClass = arena.sizeClass(record.length);
+        if (sizeClass < 0) {
+            rejected.increment();
+            log.warn("Snapshot {} too large for the arena ({} B)", snapshotId, record.length);
+            return;
+        }
+
+        synchronized (this) {
+            release(index.remove(snapshotId));
+
+            long handle = arena.allocate(sizeClass);
+            while (handle < 0) {
+                Slot oldest = pollLive(sizeClass);
+                if (oldest == null) {
+                    rejected.increment();
+                    return;
+                }
+                index.remove(oldest.id);
+                release(oldest);
+                evicted.increment();
+                handle = arena.allocate(sizeClass);
+            }
+
+            arena.write(handle, record, record.length);
+            Slot slot = new Slot(snapshotId, handle, record.length, System.currentTimeMillis() + ttlMillis);
+            index.put(snapshotId, slot);
+            oldestFirst.get(sizeClass).addLast(slot);
+        }
+    }
+
+    @Override
+    public FareEstimate get(String snapshotId) {
+        byte[] record;
+        synchronized (this) {
+            Slot slot = index.get(snapshotId);
+            if (slot == null) {
+                return null;
+            }
+            if (slot.expiresAt <= System.currentTimeMillis()) {
+                index.remove(snapshotId);
+                release(slot);
+                expired.increment();
+                return null;
+            }
+            record = arena.read(slot.handle, slot.length);
+        }
+        return codec.decode(record);
+    }
+
+    @Override
+    public synchronized void remove(String snapshotId) {
+        release(index.remove(snapshotId));
+    }
+
+    @Scheduled(fixedDelayString = "${snapshot.sweep-interval-ms:60000}",
+            initialDelayString = "${snapshot.sweep-interval-ms:60000}")
+    public synchronized void sweep() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (ArrayDeque<Slot> queue : oldestFirst) {
+            // slots are queued in save order → expired ones sit at the head
+            while (!queue.isEmpty() && (queue.peekFirst().released || queue.peekFirst().expiresAt <= now)) {
+                Slot slot = queue.pollFirst();
+                if (!slot.released) {
+                    index.remove(slot.id);
+                    release(slot);
+                    removed++;
+                }
+            }
+        }
+        expired.add(removed);
+        if (removed > 0) {
+            log.debug("Expired {} compare snapshots, {} live, {} B used", removed, index.size(), arena.usedBytes());
+        }
+    }
+
+    synchronized int live() {
+        return index.size();
+    }
+
+    synchronized long usedBytes() {
+        return arena.usedBytes();
+    }
+
+    synchronized long reservedBytes() {
+        return arena.reservedBytes();
+    }
+
+    // oldest still-stored slot of a size class; released ones are dropped on the way
+    private Slot pollLive(int sizeClass) {
+        Slot slot;
+        while ((slot = oldestFirst.get(sizeClass).pollFirst()) != null) {
+            if (!slot.released) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    // frees the block; the queue entry is dropped lazily
+    private void release(Slot slot) {
+        if (slot != null && !slot.released) {
+            slot.released = true;
+            arena.free(slot.handle);
+        }
+    }
+
+    private static final class Slot {
+        final String id;
+        final long handle;
+        final int length;
+        final long expiresAt;
+        boolean released;
+
+        Slot(String id, long handle, int length, long expiresAt) {
+            this.id = id;
+            this.handle = handle;
+            this.length = length;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
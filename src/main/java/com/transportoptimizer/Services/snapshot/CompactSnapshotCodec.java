@@ -0,0 +1,185 @@
+package com.transportoptimizer.Services.snapshot;
+
+import com.transportoptimizer.entity.FareEstimate;
+import com.transportoptimizer.entity.ProviderFare;
+import com.transportoptimizer.util.StringDictionary;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Smaller sibling of {@link SnapshotCodec} for the off-heap arena and snapshot tokens.
+ * Closed vocabularies (provider ids/names, vehicle types, currencies, product names,
+ * metadata keys and string values — providers' constant extras) become dictionary codes;
+ * free text (places) is written inline so user input can't grow the dictionary. Every field /choose persists to fare
+ * history is kept, at lower precision: money (price, base and distance fare) as paise,
+ * rates / distances / CO2 / surge as floats. ~60 B per fare instead of ~1 KB of object graph.
+ * Without a dictionary every string is inline → self-contained records (snapshot tokens).
+ */
+class CompactSnapshotCodec {
+
+    private static final int VERSION = 2;
+
+    private static final int FLAG_SURGE = 1;
+    private static final int FLAG_NORMALIZED = 2;
+
+    // string refs: 0 = inline string follows (or null), n + 1 = dictionary code n
+    private static final int REF_INLINE = 0;
+
+    // metadata string value as a ref; other values use SnapshotWriter's tags
+    private static final int TAG_REF = 'R';
+
+    private final StringDictionary dictionary;
+
+    // null → no interning
+    CompactSnapshotCodec(StringDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    byte[] encode(FareEstimate estimate) {
+        SnapshotWriter w = new SnapshotWriter(256);
+        w.u8(VERSION);
+        // unique / user-typed → never interned
+        w.string(estimate.getEstimateId());
+        w.string(estimate.getOrigin());
+        w.string(estimate.getDestination());
+        w.flt(estimate.getTotalDistanceKm());
+        w.varLong(estimate.getTimestamp() == null ? 0 : estimate.getTimestamp().toEpochMilli() + 1);
+
+        List<ProviderFare> fares = estimate.getProviderFares();
+        w.count(fares);
+        if (fares != null) {
+            for (ProviderFare fare : fares) {
+                writeFare(w, fare);
+            }
+        }
+
+        List<String> timedOut = estimate.getTimedOutProviders();
+        w.count(timedOut);
+        if (timedOut != null) {
+            timedOut.forEach(id -> ref(w, id));
+        }
+        return w.toByteArray();
+    }
+
+    FareEstimate decode(byte[] bytes) {
+        SnapshotReader r = new SnapshotReader(bytes);
+        if (r.u8() != VERSION) {
+            throw new IllegalArgumentException("Unsupported compact snapshot encoding");
+        }
+
+        FareEstimate estimate = new FareEstimate();
+        estimate.setEstimateId(r.string());
+        estimate.setOrigin(r.string());
+        estimate.setDestination(r.string());
+        estimate.setTotalDistanceKm(r.flt());
+        long timestamp = r.varLong();
+        estimate.setTimestamp(timestamp == 0 ? null : Instant.ofEpochMilli(timestamp - 1));
+
+        int fareCount = r.count();
+        if (fareCount >= 0) {
+            List<ProviderFare> fares = new ArrayList<>(fareCount);
+            for (int i = 0; i < fareCount; i++) {
+                fares.add(readFare(r));
+            }
+            estimate.setProviderFares(fares);
+        }
+
+        int timedOutCount = r.count();
+        if (timedOutCount >= 0) {
+            List<String> timedOut = new ArrayList<>(timedOutCount);
+            for (int i = 0; i < timedOutCount; i++) {
+                timedOut.add(ref(r));
+            }
+            estimate.setTimedOutProviders(timedOut);
+        }
+        return estimate;
+    }
+
+    private void writeFare(SnapshotWriter w, ProviderFare fare) {
+        ref(w, fare.getProviderId());
+        ref(w, fare.getProviderName());
+        ref(w, fare.getVehicleType());
+        ref(w, fare.getCurrency());
+        ref(w, fare.getProductName());
+        w.signed(paise(fare.getPrice()));
+        w.signed(fare.getEtaMinutes());
+        w.u8((fare.isSurge() ? FLAG_SURGE : 0) | (fare.isNormalized() ? FLAG_NORMALIZED : 0));
+        w.flt(fare.getDistanceKm());
+        w.signed(paise(fare.getBaseFare()));
+        w.flt(fare.getRatePerKm());
+        w.signed(paise(fare.getDistanceFare()));
+        w.flt(fare.getSurgeFactor());
+        w.flt(fare.getCo2EmissionKg());
+        w.flt(fare.getCo2SavedKg());
+
+        Map<String, Object> metadata = fare.getMetadata();
+        w.varLong(metadata == null ? 0 : metadata.size() + 1L);
+        if (metadata != null) {
+            for (Map.Entry<String, Object> entry : metadata.entrySet()) {
+                ref(w, entry.getKey());
+                if (entry.getValue() instanceof String s) {
+                    w.u8(TAG_REF);
+                    ref(w, s);
+                } else {
+                    w.value(entry.getValue());
+                }
+            }
+        }
+    }
+
+    private ProviderFare readFare(SnapshotReader r) {
+        ProviderFare fare = new ProviderFare();
+        fare.setProviderId(ref(r));
+        fare.setProviderName(ref(r));
+        fare.setVehicleType(ref(r));
+        fare.setCurrency(ref(r));
+        fare.setProductName(ref(r));
+        fare.setPrice(r.signed() / 100.0);
+        fare.setEtaMinutes((int) r.signed());
+        int flags = r.u8();
+        fare.setSurge((flags & FLAG_SURGE) != 0);
+        fare.setNormalized((flags & FLAG_NORMALIZED) != 0);
+        fare.setDistanceKm(r.flt());
+        fare.setBaseFare(r.signed() / 100.0);
+        fare.setRatePerKm(r.flt());
+        fare.setDistanceFare(r.signed() / 100.0);
+        fare.setSurgeFactor(r.flt());
+        fare.setCo2EmissionKg(r.flt());
+        fare.setCo2SavedKg(r.flt());
+
+        int metadataSize = r.count();
+        if (metadataSize >= 0) {
+            Map<String, Object> metadata = new LinkedHashMap<>(Math.max(4, metadataSize * 2));
+            for (int i = 0; i < metadataSize; i++) {
+                String key = ref(r);
+                int tag = r.u8();
+                metadata.put(key, tag == TAG_REF ? ref(r) : r.value(tag));
+            }
+            fare.setMetadata(metadata);
+        }
+        return fare;
+    }
+
+    private void ref(SnapshotWriter w, String s) {
+        int code = s == null || dictionary == null ? -1 : dictionary.codeOf(s);
+        if (code >= 0) {
+            w.varLong(code + 1L);
+        } else {
+            w.varLong(REF_INLINE);
+            w.string(s);
+        }
+    }
+
+    private String ref(SnapshotReader r) {
+        int ref = (int) r.varLong();
+        return ref == REF_INLINE ? r.string() : dictionary.get(ref - 1);
+    }
+
+    private static long paise(double amount) {
+        return Math.round(amount * 100);
+    }
+}
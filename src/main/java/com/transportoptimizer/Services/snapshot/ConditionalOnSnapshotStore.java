@@ -0,0 +1,20 @@
+package com.transportoptimizer.Services.snapshot;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Backend beans (and their sweeps) only exist with snapshot.mode=store;
+ * in token mode nothing is kept server-side.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+@ConditionalOnProperty(name = "snapshot.mode", havingValue = "store", matchIfMissing = true)
+public @interface ConditionalOnSnapshotStore {
+}
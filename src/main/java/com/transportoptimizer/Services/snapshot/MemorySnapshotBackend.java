@@ -0,0 +1,101 @@
+package com.transportoptimizer.Services.snapshot;
+
+import com.transportoptimizer.entity.FareEstimate;
+import com.transportoptimizer.entity.ProviderFare;
+import com.transportoptimizer.util.TtlLruCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * snapshot.backend=memory (default): snapshots live in this instance's heap only,
+ * so /choose must reach the node that served the compare.
+ * Most compares are abandoned → bounded LRU + TTL, expired entries dropped on read and by a periodic sweep.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "snapshot.backend", havingValue = "memory", matchIfMissing = true)
+@ConditionalOnSnapshotStore
+public class MemorySnapshotBackend implements SnapshotBackend {
+
+    private final TtlLruCache<String, FareEstimate> store;
+
+    public MemorySnapshotBackend(
+            MeterRegistry meterRegistry,
+            @Value("${snapshot.max-size:50000}") int maxSize,
+            @Value("${snapshot.ttl-minutes:30}") long ttlMinutes
+    ) {
+        this.store = new TtlLruCache<>(maxSize, ttlMinutes * 60_000L, MemorySnapshotBackend::estimateBytes);
+
+        Gauge.builder("compare.snapshots.live", store, TtlLruCache::size).register(meterRegistry);
+        Gauge.builder("compare.snapshots.memory.estimate", store, TtlLruCache::weight)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder("compare.snapshots.expired", store, TtlLruCache::expirations).register(meterRegistry);
+        FunctionCounter.builder("compare.snapshots.evicted", store, TtlLruCache::evictions).register(meterRegistry);
+    }
+
+    @Override
+    public void save(String snapshotId, FareEstimate estimate) {
+        store.put(snapshotId, estimate);
+    }
+
+    @Override
+    public FareEstimate get(String snapshotId) {
+        return store.get(snapshotId);
+    }
+
+    @Override
+    public void remove(String snapshotId) {
+        store.remove(snapshotId);
+    }
+
+    @Scheduled(fixedDelayString = "${snapshot.sweep-interval-ms:60000}",
+            initialDelayString = "${snapshot.sweep-interval-ms:60000}")
+    public void sweep() {
+        int removed = store.purgeExpired();
+        if (removed > 0) {
+            log.debug("Expired {} compare snapshots, {} live", removed, store.size());
+        }
+    }
+
+    /**
+     * Rough retained size of a snapshot (object headers, fields, typical string lengths).
+     * Good enough for trends/alerts, not an exact heap measurement.
+     */
+    static long estimateBytes(FareEstimate estimate) {
+        long bytes = 128 + stringBytes(estimate.getEstimateId())
+                + stringBytes(estimate.getOrigin())
+                + stringBytes(estimate.getDestination());
+
+        List<ProviderFare> fares = estimate.getProviderFares();
+        if (fares != null) {
+            bytes += 16 + 4L * fares.size();
+            for (ProviderFare fare : fares) {
+                // ~120 B of fields; ids/names/types are mostly shared constants
+                bytes += 120 + stringBytes(fare.getProductName());
+                if (fare.getMetadata() != null) {
+                    bytes += 64 + 48L * fare.getMetadata().size();
+                }
+            }
+            // ranking (built by the pipeline, else on the first /choose): a few parallel arrays + the providerId index
+            bytes += 96 + 48L * fares.size();
+        }
+
+        if (estimate.getTimedOutProviders() != null) {
+            bytes += 16 + 48L * estimate.getTimedOutProviders().size();
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String s) {
+        return s == null ? 0 : 40 + s.length();
+    }
+}
@@ -0,0 +1,117 @@
+package com.transportoptimizer.Services.snapshot;
+
+import com.transportoptimizer.Repository.CompareSnapshotRepository;
+import com.transportoptimizer.entity.CompareSnapshotEntry;
+import com.transportoptimizer.entity.FareEstimate;
+import com.transportoptimizer.util.TtlLruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * snapshot.backend=mongo: snapshots shared by all instances through a Mongo TTL collection
+ * (SnapshotCodec bytes), so /choose works on any node without sticky sessions.
+ * A small local near-cache serves the common case of /choose landing on the same node.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "snapshot.backend", havingValue = "mongo")
+@ConditionalOnSnapshotStore
+public class MongoSnapshotBackend implements SnapshotBackend {
+
+    private final CompareSnapshotRepository repository;
+    private final TtlLruCache<String, FareEstimate> nearCache;
+    private final long ttlMillis;
+
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter writeFailures;
+
+    public MongoSnapshotBackend(
+            CompareSnapshotRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${snapshot.near-cache-size:5000}") int nearCacheSize,
+            @Value("${snapshot.ttl-minutes:30}") long ttlMinutes
+    ) {
+        this.repository = repository;
+        this.ttlMillis = ttlMinutes * 60_000L;
+        this.nearCache = new TtlLruCache<>(nearCacheSize, ttlMillis);
+
+        Gauge.builder("compare.snapshots.near.size", nearCache, TtlLruCache::size).register(meterRegistry);
+        FunctionCounter.builder("compare.snapshots.near.hits", nearCache, TtlLruCache::hits).register(meterRegistry);
+        FunctionCounter.builder("compare.snapshots.near.expired", nearCache, TtlLruCache::expirations).register(meterRegistry);
+        this.remoteHits = Counter.builder("compare.snapshots.remote.hits").register(meterRegistry);
+        this.remoteMisses = Counter.builder("compare.snapshots.remote.misses").register(meterRegistry);
+        this.writeFailures = Counter.builder("compare.snapshots.remote.write.failures").register(meterRegistry);
+    }
+
+    @Override
+    public void save(String snapshotId, FareEstimate estimate) {
+        nearCache.put(snapshotId, estimate);
+        try {
+            repository.save(CompareSnapshotEntry.builder()
+                    .snapshotId(snapshotId)
+                    .payload(SnapshotCodec.encode(estimate))
+                    .expiresAt(Instant.now().plusMillis(ttlMillis))
+                    .build());
+        } catch (Exception e) {
+            // still choosable on this node
+            writeFailures.increment();
+            log.warn("Snapshot {} not shared: {}", snapshotId, e.getMessage());
+        }
+    }
+
+    @Override
+    public FareEstimate get(String snapshotId) {
+        FareEstimate local = nearCache.get(snapshotId);
+        if (local != null) {
+            return local;
+        }
+
+        try {
+            Optional<CompareSnapshotEntry> entry = repository.findById(snapshotId);
+
+            // Mongo's TTL monitor runs about once a minute → check expiry ourselves
+            long remaining = entry.map(e -> e.getExpiresAt() == null ? 0
+                    : e.getExpiresAt().toEpochMilli() - System.currentTimeMillis()).orElse(0L);
+            if (remaining <= 0) {
+                remoteMisses.increment();
+                return null;
+            }
+
+            remoteHits.increment();
+            FareEstimate estimate = SnapshotCodec.decode(entry.get().getPayload());
+            nearCache.put(snapshotId, estimate, remaining);
+            return estimate;
+        } catch (Exception e) {
+            log.error("Snapshot lookup failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void remove(String snapshotId) {
+        nearCache.remove(snapshotId);
+        try {
+            repository.deleteById(snapshotId);
+        } catch (Exception e) {
+            // the TTL index drops it anyway
+            log.warn("Snapshot {} not removed: {}", snapshotId, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${snapshot.sweep-interval-ms:60000}",
+            initialDelayString = "${snapshot.sweep-interval-ms:60000}")
+    public void sweep() {
+        nearCache.purgeExpired();
+    }
+}
@@ -0,0 +1,17 @@
+package com.transportoptimizer.Services.snapshot;
+
+import com.transportoptimizer.entity.FareEstimate;
+
+/**
+ * Where compare snapshots live until /choose ({@code snapshot.backend}).
+ * Implementations bound their size and expire entries after {@code snapshot.ttl-minutes}.
+ */
+public interface SnapshotBackend {
+
+    void save(String snapshotId, FareEstimate estimate);
+
+    // null when unknown, removed or expired
+    FareEstimate get(String snapshotId);
+
+    void remove(String snapshotId);
+}
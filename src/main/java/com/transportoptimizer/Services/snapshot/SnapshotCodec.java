@@ -0,0 +1,150 @@
+package com.transportoptimizer.Services.snapshot;
+
+import com.transportoptimizer.entity.FareEstimate;
+import com.transportoptimizer.entity.ProviderFare;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary form of a {@link FareEstimate} for shared snapshot storage.
+ * Varint lengths/counts, raw doubles, no field names; the ranking is not stored
+ * (rebuilt on demand from the fares). Metadata values: strings, numbers, booleans.
+ *
+ * <pre>
+ * version | estimateId origin destination | totalKm | timestamp
+ * | fares[ ids/names/type/currency/product | price km eta flags | breakdown | co2 | metadata ]
+ * | timedOutProviders
+ * </pre>
+ */
+public final class SnapshotCodec {
+
+    private static final int VERSION = 1;
+
+    private static final int FLAG_SURGE = 1;
+    private static final int FLAG_NORMALIZED = 2;
+
+    private SnapshotCodec() {
+    }
+
+    public static byte[] encode(FareEstimate estimate) {
+        SnapshotWriter w = new SnapshotWriter(512);
+        w.u8(VERSION);
+        w.string(estimate.getEstimateId());
+        w.string(estimate.getOrigin());
+        w.string(estimate.getDestination());
+        w.dbl(estimate.getTotalDistanceKm());
+        w.varLong(estimate.getTimestamp() == null ? 0 : estimate.getTimestamp().toEpochMilli() + 1);
+
+        List<ProviderFare> fares = estimate.getProviderFares();
+        w.count(fares);
+        if (fares != null) {
+            for (ProviderFare fare : fares) {
+                writeFare(w, fare);
+            }
+        }
+
+        List<String> timedOut = estimate.getTimedOutProviders();
+        w.count(timedOut);
+        if (timedOut != null) {
+            timedOut.forEach(w::string);
+        }
+        return w.toByteArray();
+    }
+
+    public static FareEstimate decode(byte[] bytes) {
+        SnapshotReader r = new SnapshotReader(bytes);
+        int version = r.u8();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot encoding v" + version);
+        }
+
+        FareEstimate estimate = new FareEstimate();
+        estimate.setEstimateId(r.string());
+        estimate.setOrigin(r.string());
+        estimate.setDestination(r.string());
+        estimate.setTotalDistanceKm(r.dbl());
+        long timestamp = r.varLong();
+        estimate.setTimestamp(timestamp == 0 ? null : Instant.ofEpochMilli(timestamp - 1));
+
+        int fareCount = r.count();
+        if (fareCount >= 0) {
+            List<ProviderFare> fares = new ArrayList<>(fareCount);
+            for (int i = 0; i < fareCount; i++) {
+                fares.add(readFare(r));
+            }
+            estimate.setProviderFares(fares);
+        }
+
+        int timedOutCount = r.count();
+        if (timedOutCount >= 0) {
+            List<String> timedOut = new ArrayList<>(timedOutCount);
+            for (int i = 0; i < timedOutCount; i++) {
+                timedOut.add(r.string());
+            }
+            estimate.setTimedOutProviders(timedOut);
+        }
+        return estimate;
+    }
+
+    private static void writeFare(SnapshotWriter w, ProviderFare fare) {
+        w.string(fare.getProviderId());
+        w.string(fare.getProviderName());
+        w.string(fare.getVehicleType());
+        w.string(fare.getCurrency());
+        w.string(fare.getProductName());
+        w.dbl(fare.getPrice());
+        w.dbl(fare.getDistanceKm());
+        w.signed(fare.getEtaMinutes());
+        w.u8((fare.isSurge() ? FLAG_SURGE : 0) | (fare.isNormalized() ? FLAG_NORMALIZED : 0));
+        w.dbl(fare.getBaseFare());
+        w.dbl(fare.getRatePerKm());
+        w.dbl(fare.getDistanceFare());
+        w.dbl(fare.getSurgeFactor());
+        w.dbl(fare.getCo2EmissionKg());
+        w.dbl(fare.getCo2SavedKg());
+
+        Map<String, Object> metadata = fare.getMetadata();
+        w.varLong(metadata == null ? 0 : metadata.size() + 1L);
+        if (metadata != null) {
+            for (Map.Entry<String, Object> entry : metadata.entrySet()) {
+                w.string(entry.getKey());
+                w.value(entry.getValue());
+            }
+        }
+    }
+
+    private static ProviderFare readFare(SnapshotReader r) {
+        ProviderFare fare = new ProviderFare();
+        fare.setProviderId(r.string());
+        fare.setProviderName(r.string());
+        fare.setVehicleType(r.string());
+        fare.setCurrency(r.string());
+        fare.setProductName(r.string());
+        fare.setPrice(r.dbl());
+        fare.setDistanceKm(r.dbl());
+        fare.setEtaMinutes((int) r.signed());
+        int flags = r.u8();
+        fare.setSurge((flags & FLAG_SURGE) != 0);
+        fare.setNormalized((flags & FLAG_NORMALIZED) != 0);
+        fare.setBaseFare(r.dbl());
+        fare.setRatePerKm(r.dbl());
+        fare.setDistanceFare(r.dbl());
+        fare.setSurgeFactor(r.dbl());
+        fare.setCo2EmissionKg(r.dbl());
+        fare.setCo2SavedKg(r.dbl());
+
+        int metadataSize = r.count();
+        if (metadataSize >= 0) {
+            Map<String, Object> metadata = new LinkedHashMap<>(Math.max(4, metadataSize * 2));
+            for (int i = 0; i < metadataSize; i++) {
+                metadata.put(r.string(), r.value());
+            }
+            fare.setMetadata(metadata);
+        }
+        return fare;
+    }
+}
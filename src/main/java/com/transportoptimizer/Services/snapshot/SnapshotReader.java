@@ -0,0 +1,77 @@
+package com.transportoptimizer.Services.snapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads what {@link SnapshotWriter} wrote.
+ */
+final class SnapshotReader {
+
+    private final ByteBuffer in;
+
+    SnapshotReader(byte[] bytes) {
+        this.in = ByteBuffer.wrap(bytes);
+    }
+
+    int u8() {
+        return in.get() & 0xFF;
+    }
+
+    long varLong() {
+        long v = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            v |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return v;
+            }
+        }
+    }
+
+    long signed() {
+        long v = varLong();
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    // -1 = null
+    int count() {
+        return (int) varLong() - 1;
+    }
+
+    double dbl() {
+        return in.getDouble();
+    }
+
+    float flt() {
+        return in.getFloat();
+    }
+
+    String string() {
+        int length = count();
+        if (length < 0) {
+            return null;
+        }
+        String s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return s;
+    }
+
+    Object value() {
+        return value(u8());
+    }
+
+    // tag already read by the caller
+    Object value(int tag) {
+        return switch (tag) {
+            case 'N' -> null;
+            case 'T' -> Boolean.TRUE;
+            case 'F' -> Boolean.FALSE;
+            case 'I' -> (int) signed();
+            case 'L' -> signed();
+            case 'D' -> dbl();
+            case 'S' -> string();
+            default -> throw new IllegalArgumentException("Bad metadata tag " + tag);
+        };
+    }
+}
@@ -0,0 +1,152 @@
+package com.transportoptimizer.Services.snapshot;
+
+import com.transportoptimizer.entity.FareEstimate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stateless snapshot tokens (snapshot.mode=token): the compare result travels with the client
+ * instead of living in a store.
+ *
+ * <pre>
+ * token   = base64url(payload) "." base64url(HMAC-SHA256(secret, payload))
+ * payload = version | expiresAt (epoch s) | deflate(CompactSnapshotCodec record, no dictionary)
+ * </pre>
+ *
+ * The signature is checked (constant time) before anything is inflated or decoded.
+ */
+public class SnapshotTokenCodec {
+
+    private static final byte VERSION = 1;
+    private static final String ALGORITHM = "HmacSHA256";
+
+    // decoded records are small; anything bigger was not issued by us
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64_DECODER = Base64.getUrlDecoder();
+
+    private final CompactSnapshotCodec codec = new CompactSnapshotCodec(null);
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+
+    private final ThreadLocal<Mac> macs;
+
+    public SnapshotTokenCodec(String secret, long ttlSeconds) {
+        if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < 32) {
+            throw new IllegalStateException("snapshot.token.secret must be at least 32 bytes in token mode");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.ttlSeconds = ttlSeconds;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String issue(FareEstimate estimate) {
+        byte[] record = deflate(codec.encode(estimate));
+
+        ByteBuffer payload = ByteBuffer.allocate(1 + Long.BYTES + record.length);
+        payload.put(VERSION);
+        payload.putLong(System.currentTimeMillis() / 1000 + ttlSeconds);
+        payload.put(record);
+
+        byte[] bytes = payload.array();
+        return B64.encodeToString(bytes) + "." + B64.encodeToString(sign(bytes));
+    }
+
+    /**
+     * Decoded estimate, or null when the token is malformed, forged or expired.
+     */
+    public FareEstimate verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = B64_DECODER.decode(token.substring(0, dot));
+            signature = B64_DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        if (!MessageDigest.isEqual(sign(payload), signature)
+                || payload.length < 1 + Long.BYTES
+                || payload[0] != VERSION) {
+            return null;
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(payload, 1, payload.length - 1);
+        if (in.getLong() < System.currentTimeMillis() / 1000) {
+            return null;
+        }
+        byte[] record = inflate(Arrays.copyOfRange(payload, in.position(), payload.length));
+        return record == null ? null : codec.decode(record);
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC unavailable", e);
+        }
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2 + 16);
+            byte[] buffer = new byte[512];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 3);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    return null;
+                }
+                out.write(buffer, 0, n);
+                if (out.size() > MAX_RECORD_BYTES) {
+                    return null;
+                }
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            return null;
+        } finally {
+            inflater.end();
+        }
+    }
+}
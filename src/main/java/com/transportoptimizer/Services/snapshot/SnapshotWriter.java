@@ -0,0 +1,90 @@
+package com.transportoptimizer.Services.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Low-level writer shared by the snapshot codecs: varints, zigzag, raw floats, UTF-8.
+ * Read back by {@link SnapshotReader}.
+ */
+final class SnapshotWriter {
+
+    private final ByteArrayOutputStream out;
+
+    SnapshotWriter(int initialSize) {
+        this.out = new ByteArrayOutputStream(initialSize);
+    }
+
+    void u8(int b) {
+        out.write(b);
+    }
+
+    void varLong(long v) {
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    // small negative numbers stay small
+    void signed(long v) {
+        varLong((v << 1) ^ (v >> 63));
+    }
+
+    // 0 = null, n + 1 = n elements
+    void count(Collection<?> c) {
+        varLong(c == null ? 0 : c.size() + 1L);
+    }
+
+    void dbl(double v) {
+        long bits = Double.doubleToRawLongBits(v);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (bits >>> shift));
+        }
+    }
+
+    void flt(double v) {
+        int bits = Float.floatToRawIntBits((float) v);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            out.write(bits >>> shift);
+        }
+    }
+
+    // 0 = null, n + 1 = n UTF-8 bytes
+    void string(String s) {
+        if (s == null) {
+            varLong(0);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        varLong(bytes.length + 1L);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    // metadata value: strings, numbers, booleans (anything else as its toString)
+    void value(Object v) {
+        if (v == null) {
+            out.write('N');
+        } else if (v instanceof Boolean b) {
+            out.write(b ? 'T' : 'F');
+        } else if (v instanceof Integer i) {
+            out.write('I');
+            signed(i);
+        } else if (v instanceof Long l) {
+            out.write('L');
+            signed(l);
+        } else if (v instanceof Number n) {
+            out.write('D');
+            dbl(n.doubleValue());
+        } else {
+            out.write('S');
+            string(v.toString());
+        }
+    }
+
+    byte[] toByteArray() {
+        return out.toByteArray();
+    }
+}
@@ -1,9 +1,11 @@
 package com.transportoptimizer.ai.impl;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.transportoptimizer.entity.FareEstimate;
 import com.transportoptimizer.entity.TripRequest;
 import com.transportoptimizer.ai.TogetherAIClient;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,16 +13,27 @@ import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class TogetherAIHttpClient implements TogetherAIClient {
 
+    private static final TypeReference<Map<String, Object>> RESULT_TYPE = new TypeReference<>() {
+    };
+
     @Value("${togetherai.api.key:REPLACE_WITH_KEY}")
     private String apiKey;
 
+    // a recommendation must not outlive the compare it belongs to
+    @Value("${togetherai.call-timeout-ms:${fanout.request-budget-ms:1500}}")
+    private long callTimeoutMs;
+
     private final ObjectMapper mapper = new ObjectMapper();
-    private final OkHttpClient http = new OkHttpClient();
+
+    // shared pooled client with call deadlines (UpstreamHttpConfig)
+    private final OkHttpClient upstreamHttpClient;
 
     @Override
     public Map<String, Object> score(FareEstimate fareEstimate, TripRequest tripRequest) {
@@ -55,10 +68,17 @@ public class TogetherAIHttpClient implements TogetherAIClient {
                     .post(body)
                     .build();
 
-            Response response = http.newCall(request).execute();
-            String json = response.body().string();
-
-            return mapper.readValue(json, Map.class);
+            Call call = upstreamHttpClient.newCall(request);
+            call.timeout().timeout(callTimeoutMs, TimeUnit.MILLISECONDS);
+
+            // try-with-resources → connection goes back to the pool
+            try (Response response = call.execute()) {
+                if (!response.isSuccessful() || response.body() == null) {
+                    log.warn("TogetherAI returned HTTP {}", response.code());
+                    return new HashMap<>();
+                }
+                return mapper.readValue(response.body().byteStream(), RESULT_TYPE);
+            }
 
         } catch (Exception e) {
             log.error("TogetherAI API call failed: {}", e.getMessage());
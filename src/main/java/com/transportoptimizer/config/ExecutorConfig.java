@@ -0,0 +1,96 @@
+package com.transportoptimizer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Bounded pool used only for provider calls, so a slow provider
+     * can never starve the common ForkJoinPool.
+     * Full queue → call is rejected and reported as failed (no caller-runs).
+     */
+    @Bean(name = "providerExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService providerExecutor(FanOutProperties properties) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                properties.getThreads(),
+                properties.getThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("provider-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Runs compare pipeline stages off the servlet thread
+     * (async compare, streaming compare, batch).
+     */
+    @Bean(name = "compareExecutor", destroyMethod = "shutdown")
+    public ExecutorService compareExecutor(
+            @Value("${compare.executor.threads:16}") int threads,
+            @Value("${compare.executor.queue-capacity:200}") int queueCapacity
+    ) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("compare-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Writes SSE events to clients, so a slow client only ever holds
+     * one of these threads (never a provider or compare thread).
+     */
+    @Bean(name = "sseExecutor", destroyMethod = "shutdown")
+    public ExecutorService sseExecutor(
+            @Value("${compare.stream.sender-threads:8}") int threads,
+            @Value("${compare.stream.sender-queue-capacity:1000}") int queueCapacity
+    ) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("sse-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Blocking distance lookups (Google Distance Matrix) of the async compare path.
+     */
+    @Bean(name = "distanceExecutor", destroyMethod = "shutdown")
+    public ExecutorService distanceExecutor(
+            @Value("${distance.executor.threads:16}") int threads,
+            @Value("${distance.executor.queue-capacity:500}") int queueCapacity
+    ) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("distance-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,41 @@
+package com.transportoptimizer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limits for the provider fan-out (see {@code fanout.*} in application.properties).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "fanout")
+public class FanOutProperties {
+
+    // worker threads dedicated to provider calls
+    private int threads = 32;
+
+    // queued provider calls before new ones are rejected
+    private int queueCapacity = 256;
+
+    // default deadline for a single provider call
+    private long providerTimeoutMs = 800;
+
+    // overall budget for one compare, across all providers
+    private long requestBudgetMs = 1500;
+
+    // per-provider deadline overrides, keyed by providerId
+    private Map<String, Long> providerTimeoutsMs = new HashMap<>();
+
+    public long timeoutFor(String providerId) {
+        for (Map.Entry<String, Long> entry : providerTimeoutsMs.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(providerId)) {
+                return Math.min(entry.getValue(), requestBudgetMs);
+            }
+        }
+        return Math.min(providerTimeoutMs, requestBudgetMs);
+    }
+}
@@ -0,0 +1,54 @@
+package com.transportoptimizer.config;
+
+import com.transportoptimizer.entity.CompareSnapshotEntry;
+import com.transportoptimizer.entity.DistanceCacheEntry;
+import com.transportoptimizer.entity.FareEstimateCacheEntry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+
+/**
+ * Creates the @Indexed indexes (mainly TTL ones) of cache-like collections.
+ * Runs in the background so a missing Mongo never blocks startup.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class MongoIndexConfig {
+
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(
+            FareEstimateCacheEntry.class,
+            DistanceCacheEntry.class,
+            CompareSnapshotEntry.class
+    );
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        Thread worker = new Thread(() -> {
+            IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+            for (Class<?> type : INDEXED_DOCUMENTS) {
+                try {
+                    IndexOperations ops = mongoTemplate.indexOps(type);
+                    resolver.resolveIndexFor(type).forEach(ops::ensureIndex);
+                    log.info("Indexes ensured for {}", type.getSimpleName());
+                } catch (Exception e) {
+                    log.warn("Could not ensure indexes for {}: {}", type.getSimpleName(), e.getMessage());
+                }
+            }
+        }, "mongo-index-init");
+        worker.setDaemon(true);
+        worker.start();
+    }
+}
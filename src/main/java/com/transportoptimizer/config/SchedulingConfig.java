@@ -0,0 +1,12 @@
+package com.transportoptimizer.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (popularity refresh, sweeps).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,57 @@
+package com.transportoptimizer.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class UpstreamHttpConfig {
+
+    /**
+     * One pooled client for every upstream API (Distance Matrix, TogetherAI, ...).
+     * Every call has a hard deadline, so a hung upstream can't pin a worker thread;
+     * callers with a tighter budget shorten it per call via {@code call.timeout()}.
+     */
+    @Bean
+    public OkHttpClient upstreamHttpClient(UpstreamHttpProperties properties,
+                                           MeterRegistry meterRegistry) {
+        ConnectionPool pool = new ConnectionPool(
+                properties.getMaxIdleConnections(),
+                properties.getKeepAliveSeconds(),
+                TimeUnit.SECONDS
+        );
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(properties.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(properties.getMaxRequestsPerHost());
+
+        Gauge.builder("upstream.http.pool.connections", pool, ConnectionPool::connectionCount)
+                .register(meterRegistry);
+        Gauge.builder("upstream.http.pool.idle", pool, ConnectionPool::idleConnectionCount)
+                .register(meterRegistry);
+        // busy connections vs. pool size; > 1 → connections are opened and dropped per call
+        Gauge.builder("upstream.http.pool.utilization", pool,
+                        p -> (p.connectionCount() - p.idleConnectionCount())
+                                / (double) Math.max(1, properties.getMaxIdleConnections()))
+                .register(meterRegistry);
+        Gauge.builder("upstream.http.dispatcher.queued", dispatcher, Dispatcher::queuedCallsCount)
+                .register(meterRegistry);
+
+        return new OkHttpClient.Builder()
+                .connectionPool(pool)
+                .dispatcher(dispatcher)
+                .connectTimeout(properties.getConnectTimeoutMs(), TimeUnit.MILLISECONDS)
+                .readTimeout(properties.getReadTimeoutMs(), TimeUnit.MILLISECONDS)
+                .writeTimeout(properties.getWriteTimeoutMs(), TimeUnit.MILLISECONDS)
+                .callTimeout(properties.getCallTimeoutMs(), TimeUnit.MILLISECONDS)
+                .retryOnConnectionFailure(true)
+                .addInterceptor(new UpstreamHttpMetrics(meterRegistry))
+                .build();
+    }
+}
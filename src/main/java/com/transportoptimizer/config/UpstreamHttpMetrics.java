@@ -0,0 +1,56 @@
+package com.transportoptimizer.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-host latency (upstream.http.client) and in-flight calls (upstream.http.inflight)
+ * of the shared upstream client.
+ */
+class UpstreamHttpMetrics implements Interceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    UpstreamHttpMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        String host = chain.request().url().host();
+        AtomicInteger active = inFlight.computeIfAbsent(host, h -> {
+            AtomicInteger counter = new AtomicInteger();
+            Gauge.builder("upstream.http.inflight", counter, AtomicInteger::get)
+                    .tag("host", h)
+                    .register(meterRegistry);
+            return counter;
+        });
+
+        long start = System.nanoTime();
+        String outcome = "IO_ERROR";
+        active.incrementAndGet();
+        try {
+            Response response = chain.proceed(chain.request());
+            outcome = (response.code() / 100) + "xx";
+            return response;
+        } finally {
+            active.decrementAndGet();
+            Timer.builder("upstream.http.client")
+                    .tag("host", host)
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
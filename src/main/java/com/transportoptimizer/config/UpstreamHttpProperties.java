@@ -0,0 +1,32 @@
+package com.transportoptimizer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared HTTP client for upstream APIs (see {@code upstream.http.*} in application.properties).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "upstream.http")
+public class UpstreamHttpProperties {
+
+    // idle keep-alive connections kept in the pool (all hosts)
+    private int maxIdleConnections = 50;
+
+    // how long an idle connection is kept
+    private long keepAliveSeconds = 300;
+
+    private long connectTimeoutMs = 500;
+    private long readTimeoutMs = 2000;
+    private long writeTimeoutMs = 2000;
+
+    // hard deadline for a whole call (dns + connect + write + read);
+    // matrix calls are cut off earlier, once all their callers stopped waiting (distance.batch.wait-timeout-ms)
+    private long callTimeoutMs = 3000;
+
+    // async dispatcher limits
+    private int maxRequests = 128;
+    private int maxRequestsPerHost = 32;
+}
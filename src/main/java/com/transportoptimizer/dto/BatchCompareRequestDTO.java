@@ -0,0 +1,17 @@
+package com.transportoptimizer.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCompareRequestDTO {
+
+    @NotEmpty
+    private List<CompareRequestDTO> trips;
+}
@@ -0,0 +1,33 @@
+package com.transportoptimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCompareResponseDTO {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+
+    private List<TripResult> results;   // same order as request trips
+
+    // ---------------------------------------------------------------------
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TripResult {
+        private int index;
+        private String status;              // OK | ERROR
+        private String error;
+        private CompareResponseDTO result;  // null on error
+    }
+}
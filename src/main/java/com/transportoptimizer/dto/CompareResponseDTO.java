@@ -48,5 +48,6 @@ public class CompareResponseDTO {
         private Instant timestamp;
         private String serviceVersion;
         private String traceId;
+        private List<String> timedOutProviders;   // partial result if not empty
     }
 }
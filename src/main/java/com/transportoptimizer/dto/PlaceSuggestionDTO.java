@@ -0,0 +1,21 @@
+package com.transportoptimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One autocomplete result. Clients send {@code id} back as origin/destination.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaceSuggestionDTO {
+    private String id;          // canonical, e.g. "delhi-ncr:rajiv-chowk"
+    private String name;        // display text, e.g. "Rajiv Chowk, Delhi NCR"
+    private String city;
+    private String type;        // place | station
+    private long popularity;    // trips from/to this place in FareHistory
+}
@@ -17,4 +17,7 @@ public class ProviderFareDTO {
     private boolean isSurge;
     private Map<String, Object> metadata;
     private String vehicleType;
+    private String productName;
+    private double surgeFactor;
+    private double co2EmissionKg;
 }
@@ -0,0 +1,21 @@
+package com.transportoptimizer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One "fares" event of the streaming compare: fares of a single provider.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderFaresEventDTO {
+    private String requestId;
+    private String providerId;
+    private List<ProviderFareDTO> fares;
+}
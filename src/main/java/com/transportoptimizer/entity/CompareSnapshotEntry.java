@@ -0,0 +1,29 @@
+package com.transportoptimizer.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "compare_snapshots")
+public class CompareSnapshotEntry {
+
+    @Id
+    private String snapshotId;
+
+    // FareEstimate in SnapshotCodec binary form
+    private byte[] payload;
+
+    // TTL index → abandoned compares are dropped by Mongo
+    @Indexed(name = "expiresAt_ttl", expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
@@ -0,0 +1,33 @@
+package com.transportoptimizer.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "distance_cache")
+public class DistanceCacheEntry {
+
+    // normalized origin | normalized destination
+    @Id
+    private String routeKey;
+
+    private String origin;
+    private String destination;
+    private double distanceKm;
+
+    private Instant resolvedAt;
+
+    // TTL index → entries past the staleness limit are dropped by Mongo
+    @Indexed(name = "expiresAt_ttl", expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
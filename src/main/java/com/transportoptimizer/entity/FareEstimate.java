@@ -1,10 +1,17 @@
 package com.transportoptimizer.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.annotation.Transient;
 
 import java.time.Instant;
 import java.util.List;
@@ -32,4 +39,24 @@ public class FareEstimate {
 
     @JsonProperty("timestamp")
     private Instant timestamp;
+
+    // providers that missed their deadline (fares are partial)
+    @JsonProperty("timed_out_providers")
+    private List<String> timedOutProviders;
+
+    // built by the compare pipeline; not stored / serialized / compared, rebuilt on demand → only ranking()
+    @Transient
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private FareRanking ranking;
+
+    public FareRanking ranking() {
+        if (ranking == null) {
+            ranking = FareRanking.of(providerFares == null ? List.of() : providerFares);
+        }
+        return ranking;
+    }
 }
@@ -0,0 +1,29 @@
+package com.transportoptimizer.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "fare_estimate_cache")
+public class FareEstimateCacheEntry {
+
+    // normalized origin | destination | departure bucket
+    @Id
+    private String cacheKey;
+
+    private FareEstimate fareEstimate;
+
+    // TTL index → Mongo drops stale surge prices on its own
+    @Indexed(name = "expiresAt_ttl", expireAfterSeconds = 0)
+    private Instant expiresAt;
+}
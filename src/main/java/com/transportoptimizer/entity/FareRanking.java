@@ -0,0 +1,110 @@
+package com.transportoptimizer.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Price-sorted fares plus everything recommendation and /choose need,
+ * computed once per estimate and kept with the snapshot, so those become lookups.
+ * Indices point into {@link #sortedFares}, -1 if empty.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FareRanking {
+
+    // hybrid score = price + eta * HYBRID_ETA_WEIGHT
+    public static final double HYBRID_ETA_WEIGHT = 0.2;
+
+    private List<ProviderFare> sortedFares;
+    private int cheapestIndex;
+    private int fastestIndex;
+    private int hybridBestIndex;
+
+    private double minPrice;
+    private double maxPrice;
+    private int minEta;
+
+    // fare indices ordered by hybrid score (best first)
+    private int[] hybridOrder;
+
+    // providerId → index (first fare of a provider id wins)
+    private Map<String, Integer> indexByProviderId;
+
+    /**
+     * One pass over an already price-sorted list (first one wins on ties),
+     * plus an insertion sort of the (small) hybrid order.
+     */
+    public static FareRanking of(List<ProviderFare> sortedFares) {
+        int n = sortedFares.size();
+        int fastest = -1;
+        int minEta = Integer.MAX_VALUE;
+        double maxPrice = 0.0;
+
+        double[] scores = new double[n];
+        int[] hybridOrder = new int[n];
+        Map<String, Integer> byProviderId = new HashMap<>(Math.max(4, n * 2));
+
+        for (int i = 0; i < n; i++) {
+            ProviderFare fare = sortedFares.get(i);
+
+            if (fare.getEtaMinutes() < minEta) {
+                minEta = fare.getEtaMinutes();
+                fastest = i;
+            }
+            maxPrice = Math.max(maxPrice, fare.getPrice());
+            byProviderId.putIfAbsent(fare.getProviderId(), i);
+
+            // stable insertion by hybrid score
+            scores[i] = hybridScore(fare);
+            int j = i - 1;
+            while (j >= 0 && scores[hybridOrder[j]] > scores[i]) {
+                hybridOrder[j + 1] = hybridOrder[j];
+                j--;
+            }
+            hybridOrder[j + 1] = i;
+        }
+
+        return new FareRanking(
+                sortedFares,
+                n == 0 ? -1 : 0,
+                fastest,
+                n == 0 ? -1 : hybridOrder[0],
+                n == 0 ? 0.0 : sortedFares.get(0).getPrice(),
+                maxPrice,
+                n == 0 ? 0 : minEta,
+                hybridOrder,
+                byProviderId
+        );
+    }
+
+    public static double hybridScore(ProviderFare fare) {
+        return fare.getPrice() + fare.getEtaMinutes() * HYBRID_ETA_WEIGHT;
+    }
+
+    public boolean isEmpty() {
+        return sortedFares == null || sortedFares.isEmpty();
+    }
+
+    public ProviderFare cheapest() {
+        return cheapestIndex < 0 ? null : sortedFares.get(cheapestIndex);
+    }
+
+    public ProviderFare fastest() {
+        return fastestIndex < 0 ? null : sortedFares.get(fastestIndex);
+    }
+
+    public ProviderFare hybridBest() {
+        return hybridBestIndex < 0 ? null : sortedFares.get(hybridBestIndex);
+    }
+
+    public ProviderFare byProviderId(String providerId) {
+        Integer idx = providerId == null ? null : indexByProviderId.get(providerId);
+        return idx == null ? null : sortedFares.get(idx);
+    }
+}
@@ -38,6 +38,34 @@ public class ProviderFare {
     @JsonProperty("currency")
     private String currency;
 
+    @JsonProperty("product_name")
+    private String productName;
+
+    // ---- pricing breakdown (typed, no boxing) ----
+    @JsonProperty("base_fare")
+    private double baseFare;
+
+    @JsonProperty("rate_per_km")
+    private double ratePerKm;
+
+    @JsonProperty("distance_fare")
+    private double distanceFare;
+
+    @Builder.Default
+    @JsonProperty("surge_factor")
+    private double surgeFactor = 1.0;
+
+    // ---- filled by the compare pipeline ----
+    @JsonProperty("co2_emission_kg")
+    private double co2EmissionKg;
+
+    @JsonProperty("co2_saved_kg")
+    private double co2SavedKg;
+
+    @JsonProperty("normalized")
+    private boolean normalized;
+
+    // optional free-form extras (null when the provider has none)
     @JsonProperty("metadata")
     private Map<String, Object> metadata;
 }
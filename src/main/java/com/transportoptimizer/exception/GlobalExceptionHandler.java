@@ -1,5 +1,7 @@
 package com.transportoptimizer.exception;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -8,10 +10,14 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    @Value("${compare.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGenericException(Exception ex) {
         Map<String, String> body = new HashMap<>();
@@ -32,4 +38,14 @@ public class GlobalExceptionHandler {
         body.put("error", ex.getReason());
         return ResponseEntity.status(ex.getStatusCode()).body(body);
     }
+
+    // a compare pool is saturated (load shedding) → tell the client when to come back
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> handleRejected(RejectedExecutionException ex) {
+        Map<String, String> body = new HashMap<>();
+        body.put("error", "Too many concurrent compares");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(body);
+    }
 }
@@ -13,6 +13,14 @@ public interface ProviderClient {
     String providerId();
     String providerName();
 
+    /**
+     * Trips this provider can serve (distance range, cities, vehicle types, route check).
+     * Checked before fan-out; ineligible providers are not called at all.
+     */
+    default ProviderEligibility eligibility() {
+        return ProviderEligibility.ANY;
+    }
+
     /**
      * Fetches a single fare estimate using a precomputed distance.
      *
@@ -0,0 +1,89 @@
+package com.transportoptimizer.provider;
+
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+/**
+ * What a provider can serve, declared up front so the fan-out can skip it
+ * without spending a provider-pool slot.
+ * Empty sets mean "no constraint".
+ */
+public final class ProviderEligibility {
+
+    public static final ProviderEligibility ANY = builder().build();
+
+    private final double minDistanceKm;
+    private final double maxDistanceKm;
+    private final Set<String> cities;
+    private final Set<String> vehicleTypes;
+    private final BiPredicate<String, String> routeCheck;
+
+    private ProviderEligibility(Builder b) {
+        this.minDistanceKm = b.minDistanceKm;
+        this.maxDistanceKm = b.maxDistanceKm;
+        this.cities = Set.copyOf(b.cities);
+        this.vehicleTypes = Set.copyOf(b.vehicleTypes);
+        this.routeCheck = b.routeCheck;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public double minDistanceKm() {
+        return minDistanceKm;
+    }
+
+    public double maxDistanceKm() {
+        return maxDistanceKm;
+    }
+
+    // city slugs (e.g. "delhi-ncr") the provider operates in
+    public Set<String> cities() {
+        return cities;
+    }
+
+    // vehicle types the provider returns fares for
+    public Set<String> vehicleTypes() {
+        return vehicleTypes;
+    }
+
+    // route-level check (origin, destination) → true if servable; null = none
+    public BiPredicate<String, String> routeCheck() {
+        return routeCheck;
+    }
+
+    public static final class Builder {
+        private double minDistanceKm = Double.NEGATIVE_INFINITY;
+        private double maxDistanceKm = Double.POSITIVE_INFINITY;
+        private Set<String> cities = Set.of();
+        private Set<String> vehicleTypes = Set.of();
+        private BiPredicate<String, String> routeCheck;
+
+        // inclusive; unknown distance (<= 0) only passes if min allows it
+        public Builder distanceKm(double min, double max) {
+            this.minDistanceKm = min;
+            this.maxDistanceKm = max;
+            return this;
+        }
+
+        public Builder cities(Set<String> cities) {
+            this.cities = cities;
+            return this;
+        }
+
+        public Builder vehicleTypes(Set<String> vehicleTypes) {
+            this.vehicleTypes = vehicleTypes;
+            return this;
+        }
+
+        public Builder routeCheck(BiPredicate<String, String> routeCheck) {
+            this.routeCheck = routeCheck;
+            return this;
+        }
+
+        public ProviderEligibility build() {
+            return new ProviderEligibility(this);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.transportoptimizer.provider.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.transportoptimizer.entity.ProviderFare;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * {@link ProviderFare} properties an HTTP provider response can be mapped to.
+ * Default JSON names are the ones ProviderFare itself serializes to.
+ */
+enum FareField {
+
+    PRICE("price") {
+        @Override
+        void apply(ProviderFare fare, JsonParser p) throws IOException {
+            fare.setPrice(p.getValueAsDouble());
+        }
+    },
+    VEHICLE_TYPE("vehicle_type") {
+        @Override
+        void apply(ProviderFare fare, JsonParser p) throws IOException {
+            fare.setVehicleType(p.getValueAsString());
+        }
+    },
+    PRODUCT_NAME("product_name") {
+        @Override
+        void apply(ProviderFare fare, JsonParser p) throws IOException {
+            fare.setProductName(p.getValueAsString());
+        }
+    },
+    ETA_MINUTES("eta_minutes") {
+        @Override
+        void apply(ProviderFare fare, JsonParser p) throws IOException {
+            fare.setEtaMinutes((int) Math.round(p.getValueAsDouble()));
+        }
+    },
+    DISTANCE_KM("distance_km") {
+        @Override
+        void apply(ProviderFare fare, JsonParser p) throws IOException {
+            fare.setDistanceKm(p.getValueAsDouble());
+        }
+    },
+    CURRENCY("currency") {
+        @Override
+        void apply(ProviderFare fare, JsonParser p) throws IOException {
+            fare.setCurrency(p.getValueAsString());
+        }
+    },
+    IS_SURGE("is_surge") {
+        @Override
+        void apply(ProviderFare fare, JsonParser p) throws IOException {
+            fare.setSurge(p.getValueAsBoolean());
+        }
+    },
+    SURGE_FACTOR("surge_factor") {
+        @Override
+        void apply(ProviderFare fare, JsonParser p) throws IOException {
+            fare.setSurgeFactor(p.getValueAsDouble(1.0));
+        }
+    },
+    BASE_FARE("base_fare") {
+        @Override
+        void apply(ProviderFare fare, JsonParser p) throws IOException {
+            fare.setBaseFare(p.getValueAsDouble());
+        }
+    },
+    RATE_PER_KM("rate_per_km") {
+        @Override
+        void apply(ProviderFare fare, JsonParser p) throws IOException {
+            fare.setRatePerKm(p.getValueAsDouble());
+        }
+    },
+    DISTANCE_FARE("distance_fare") {
+        @Override
+        void apply(ProviderFare fare, JsonParser p) throws IOException {
+            fare.setDistanceFare(p.getValueAsDouble());
+        }
+    };
+
+    final String defaultPath;
+
+    FareField(String defaultPath) {
+        this.defaultPath = defaultPath;
+    }
+
+    // parser is positioned on the scalar value
+    abstract void apply(ProviderFare fare, JsonParser p) throws IOException;
+
+    // "vehicleType", "vehicle-type", "vehicle_type" → VEHICLE_TYPE
+    static FareField of(String property) {
+        String wanted = property.replace("-", "").replace("_", "").toLowerCase(Locale.ROOT);
+        for (FareField field : values()) {
+            if (field.name().replace("_", "").toLowerCase(Locale.ROOT).equals(wanted)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown ProviderFare field: " + property);
+    }
+}
@@ -0,0 +1,207 @@
+package com.transportoptimizer.provider.http;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.transportoptimizer.entity.ProviderFare;
+import com.transportoptimizer.provider.ProviderClient;
+import com.transportoptimizer.provider.ProviderEligibility;
+import com.transportoptimizer.provider.pricing.Tariff;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProviderClient} for a remote fare API described by an {@link HttpProviderProperties.Endpoint}.
+ * Uses the shared upstream OkHttp pool, caps in-flight calls per provider with a semaphore
+ * and streams the response body through a {@link StreamingFareParser}.
+ * The call runs on the OkHttp dispatcher while the caller waits interruptibly,
+ * so a fan-out timeout or lost hedge cancels the socket instead of waiting it out.
+ */
+public class HttpProviderClient implements ProviderClient {
+
+    private static final MediaType JSON_TYPE = MediaType.get("application/json");
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final HttpProviderProperties.Endpoint endpoint;
+    private final OkHttpClient http;
+    private final Semaphore permits;
+    private final StreamingFareParser parser;
+    private final ProviderEligibility eligibility;
+
+    public HttpProviderClient(HttpProviderProperties.Endpoint endpoint, OkHttpClient upstreamHttpClient) {
+        this.endpoint = endpoint;
+        this.http = upstreamHttpClient;
+        this.permits = new Semaphore(Math.max(1, endpoint.getMaxConcurrent()));
+        this.parser = new StreamingFareParser(endpoint.getFaresPath(), endpoint.getFields());
+
+        ProviderEligibility.Builder eligible = ProviderEligibility.builder()
+                .cities(Set.copyOf(endpoint.getCities()))
+                .vehicleTypes(Set.copyOf(endpoint.getVehicleTypes()));
+        if (endpoint.getMinDistanceKm() != null || endpoint.getMaxDistanceKm() != null) {
+            eligible.distanceKm(
+                    endpoint.getMinDistanceKm() == null ? Double.NEGATIVE_INFINITY : endpoint.getMinDistanceKm(),
+                    endpoint.getMaxDistanceKm() == null ? Double.POSITIVE_INFINITY : endpoint.getMaxDistanceKm());
+        }
+        this.eligibility = eligible.build();
+    }
+
+    @Override
+    public String providerId() {
+        return endpoint.getId();
+    }
+
+    @Override
+    public String providerName() {
+        return endpoint.getName();
+    }
+
+    @Override
+    public ProviderEligibility eligibility() {
+        return eligibility;
+    }
+
+    @Override
+    public ProviderFare getFare(String origin, String destination, double distanceKm) {
+        List<ProviderFare> fares = getFaresBatch(origin, destination, distanceKm, null);
+        return fares.isEmpty() ? null : fares.get(0);
+    }
+
+    @Override
+    public List<ProviderFare> getFaresBatch(
+            String origin,
+            String destination,
+            double distanceKm,
+            Map<String, Object> options
+    ) {
+        acquire();
+        Call call = null;
+        try {
+            call = http.newCall(request(origin, destination, distanceKm));
+            CompletableFuture<List<ProviderFare>> parsed = new CompletableFuture<>();
+            call.enqueue(new Callback() {
+                @Override
+                public void onFailure(Call c, IOException e) {
+                    parsed.completeExceptionally(e);
+                }
+
+                @Override
+                public void onResponse(Call c, Response response) {
+                    try (response) {
+                        if (!response.isSuccessful() || response.body() == null) {
+                            throw new IllegalStateException(endpoint.getId() + " responded HTTP " + response.code());
+                        }
+                        parsed.complete(parser.parse(response.body().byteStream()));
+                    } catch (Exception e) {
+                        parsed.completeExceptionally(e);
+                    }
+                }
+            });
+
+            List<ProviderFare> fares = parsed.get();
+            Map<String, Integer> seenTypes = new HashMap<>();
+            for (ProviderFare fare : fares) {
+                // one id per fare, like the built-in clients ("Uber : auto 2") → /choose can tell them apart
+                fare.setProviderId(Tariff.fareId(endpoint.getId(), fareLabel(fare), seenTypes));
+                fare.setProviderName(endpoint.getName());
+                if (fare.getCurrency() == null) {
+                    fare.setCurrency(endpoint.getCurrency());
+                }
+                if (fare.getDistanceKm() <= 0 && distanceKm > 0) {
+                    fare.setDistanceKm(distanceKm);
+                }
+            }
+            return fares;
+        } catch (InterruptedException e) {
+            // fan-out gave up (deadline, hedge lost) → abort the socket, free the permit now
+            call.cancel();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(endpoint.getId() + " call interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw new UncheckedIOException(endpoint.getId() + " call failed", io);
+            }
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(endpoint.getId() + " call failed", e.getCause());
+        } catch (IOException e) {
+            throw new UncheckedIOException(endpoint.getId() + " call failed", e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // bounded wait: a saturated provider fails fast instead of piling up fan-out threads
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(endpoint.getAcquireTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException(endpoint.getId() + " concurrency limit reached ("
+                        + endpoint.getMaxConcurrent() + " in flight)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(endpoint.getId() + " call interrupted", e);
+        }
+    }
+
+    private Request request(String origin, String destination, double distanceKm) throws IOException {
+        String km = distanceKm > 0 ? String.valueOf(distanceKm) : "";
+        String url = endpoint.getUrl()
+                .replace("{origin}", encode(origin))
+                .replace("{destination}", encode(destination))
+                .replace("{distanceKm}", km);
+
+        Request.Builder builder = new Request.Builder().url(url);
+        endpoint.getHeaders().forEach(builder::header);
+
+        if (endpoint.getMethod() == HttpProviderProperties.Method.POST) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(128);
+            try (JsonGenerator g = JSON.createGenerator(body)) {
+                g.writeStartObject();
+                g.writeStringField("origin", origin);
+                g.writeStringField("destination", destination);
+                if (distanceKm > 0) {
+                    g.writeNumberField("distance_km", distanceKm);
+                }
+                g.writeEndObject();
+            }
+            builder.post(RequestBody.create(body.toByteArray(), JSON_TYPE));
+        } else {
+            builder.get();
+        }
+        return builder.build();
+    }
+
+    // no vehicle type mapped → product name, else just numbered ("Acme : fare 2")
+    private static String fareLabel(ProviderFare fare) {
+        if (fare.getVehicleType() != null && !fare.getVehicleType().isBlank()) {
+            return fare.getVehicleType();
+        }
+        if (fare.getProductName() != null && !fare.getProductName().isBlank()) {
+            return fare.getProductName();
+        }
+        return "fare";
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value == null ? "" : value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,55 @@
+package com.transportoptimizer.provider.http;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * HTTP-backed providers ({@code providers.http.endpoints[n].*}).
+ * Bound by {@link HttpProviderRegistrar} before the context is refreshed.
+ */
+@Data
+public class HttpProviderProperties {
+
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    @Data
+    public static class Endpoint {
+        private String id;
+        private String name;
+
+        // placeholders {origin}, {destination}, {distanceKm} (URL-encoded)
+        private String url;
+        private Method method = Method.GET;
+
+        // e.g. auth headers
+        private Map<String, String> headers = new HashMap<>();
+
+        // calls in flight towards this provider; extra callers wait acquire-timeout-ms, then fail fast
+        private int maxConcurrent = 16;
+        private long acquireTimeoutMs = 50;
+
+        // dotted path of the fares array in the response ("" = the response is the array)
+        private String faresPath = "fares";
+
+        // ProviderFare property → dotted JSON path inside one fare, overrides FareField defaults
+        private Map<String, String> fields = new HashMap<>();
+
+        private String currency = "INR";
+
+        // eligibility (empty / unset = no restriction)
+        private Set<String> cities = new HashSet<>();
+        private Set<String> vehicleTypes = new HashSet<>();
+        private Double minDistanceKm;
+        private Double maxDistanceKm;
+    }
+
+    public enum Method {
+        GET, POST
+    }
+}
@@ -0,0 +1,57 @@
+package com.transportoptimizer.provider.http;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registers one {@link HttpProviderClient} bean per {@code providers.http.endpoints[n]} entry,
+ * so configured remote providers join the fan-out without any code. None are configured by default.
+ */
+@Slf4j
+@Component
+public class HttpProviderRegistrar implements BeanDefinitionRegistryPostProcessor, EnvironmentAware {
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+        HttpProviderProperties properties = Binder.get(environment)
+                .bind("providers.http", HttpProviderProperties.class)
+                .orElseGet(HttpProviderProperties::new);
+
+        for (HttpProviderProperties.Endpoint endpoint : properties.getEndpoints()) {
+            if (endpoint.getId() == null || endpoint.getId().isBlank() || endpoint.getUrl() == null) {
+                throw new IllegalArgumentException("providers.http.endpoints[].id and url are required");
+            }
+            if (endpoint.getName() == null) {
+                endpoint.setName(endpoint.getId());
+            }
+
+            registry.registerBeanDefinition("httpProvider-" + endpoint.getId(),
+                    BeanDefinitionBuilder.genericBeanDefinition(HttpProviderClient.class)
+                            .addConstructorArgValue(endpoint)
+                            .addConstructorArgReference("upstreamHttpClient")
+                            .getBeanDefinition());
+
+            log.info("HTTP provider {} registered ({} {}, max {} in flight)",
+                    endpoint.getId(), endpoint.getMethod(), endpoint.getUrl(), endpoint.getMaxConcurrent());
+        }
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        // nothing to do
+    }
+}
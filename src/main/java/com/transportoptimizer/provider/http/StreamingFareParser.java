@@ -0,0 +1,111 @@
+package com.transportoptimizer.provider.http;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.transportoptimizer.entity.ProviderFare;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads a provider response token by token straight into {@link ProviderFare}s:
+ * walks to the fares array, fills mapped fields, skips everything else.
+ * No intermediate Map/JsonNode tree is built. Immutable, shared by all calls of a provider.
+ */
+class StreamingFareParser {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final String[] faresPath;
+
+    // dotted JSON path (relative to one fare) → target field
+    private final Map<String, FareField> byPath = new HashMap<>();
+
+    // every "a.", "a.b." prefix of a mapped path → nested objects worth descending into
+    private final Set<String> prefixes = new HashSet<>();
+
+    StreamingFareParser(String faresPath, Map<String, String> overrides) {
+        this.faresPath = faresPath == null || faresPath.isBlank() ? new String[0] : faresPath.split("\\.");
+
+        Map<FareField, String> paths = new EnumMap<>(FareField.class);
+        for (FareField field : FareField.values()) {
+            paths.put(field, field.defaultPath);
+        }
+        overrides.forEach((property, path) -> paths.put(FareField.of(property), path));
+
+        paths.forEach((field, path) -> {
+            byPath.put(path, field);
+            for (int dot = path.indexOf('.'); dot >= 0; dot = path.indexOf('.', dot + 1)) {
+                prefixes.add(path.substring(0, dot + 1));
+            }
+        });
+    }
+
+    List<ProviderFare> parse(InputStream in) throws IOException {
+        List<ProviderFare> fares = new ArrayList<>();
+        try (JsonParser p = JSON.createParser(in)) {
+            if (p.nextToken() == null || !seekArray(p, 0)) {
+                return fares;
+            }
+
+            JsonToken token;
+            while ((token = p.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                if (token == JsonToken.START_OBJECT) {
+                    ProviderFare fare = new ProviderFare();
+                    fare.setSurgeFactor(1.0);
+                    readObject(p, "", fare);
+                    fares.add(fare);
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+        return fares;
+    }
+
+    // positioned on a value; true when positioned on START_ARRAY of the fares array
+    private boolean seekArray(JsonParser p, int depth) throws IOException {
+        if (depth == faresPath.length) {
+            return p.currentToken() == JsonToken.START_ARRAY;
+        }
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            p.nextToken();
+            if (name.equals(faresPath[depth])) {
+                return seekArray(p, depth + 1);
+            }
+            p.skipChildren();
+        }
+        return false;
+    }
+
+    // positioned on START_OBJECT; returns on its END_OBJECT
+    private void readObject(JsonParser p, String prefix, ProviderFare fare) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String path = prefix + p.currentName();
+            JsonToken value = p.nextToken();
+
+            if (value == JsonToken.START_OBJECT && prefixes.contains(path + ".")) {
+                readObject(p, path + ".", fare);
+            } else if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                p.skipChildren();
+            } else if (value != JsonToken.VALUE_NULL) {
+                FareField field = byPath.get(path);
+                if (field != null) {
+                    field.apply(fare, p);
+                }
+            }
+        }
+    }
+}
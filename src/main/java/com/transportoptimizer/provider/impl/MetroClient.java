@@ -1,21 +1,32 @@
 package com.transportoptimizer.provider.impl;
 
 import com.transportoptimizer.Services.MetroCoverageService;
+import com.transportoptimizer.Services.MetroNetworkService;
 import com.transportoptimizer.entity.ProviderFare;
 import com.transportoptimizer.provider.ProviderClient;
+import com.transportoptimizer.provider.ProviderEligibility;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MetroClient implements ProviderClient {
 
+    private static final Map<String, Object> EXTRAS = Map.of("network", "city-metro");
+
+    // distance formula used when a station is not in the graph
+    private static final double BASE_FARE = 10;
+    private static final double RATE_PER_KM = 5 / 1.5;
+
     private final MetroCoverageService metroCoverageService;
+    private final MetroNetworkService metroNetworkService;
 
     @Override
     public String providerId() {
@@ -27,6 +38,16 @@ public class MetroClient implements ProviderClient {
         return "Metro";
     }
 
+    // metro cities only, and both ends must match stations of the same city
+    @Override
+    public ProviderEligibility eligibility() {
+        return ProviderEligibility.builder()
+                .cities(metroCoverageService.cities())
+                .vehicleTypes(Set.of("metro"))
+                .routeCheck(metroCoverageService::isMetroRoute)
+                .build();
+    }
+
     @Override
     public ProviderFare getFare(String origin, String destination, double distance) {
 
@@ -36,7 +57,27 @@ public class MetroClient implements ProviderClient {
             return null;
         }
 
-        double price = 10 + (distance * 5)/1.5;
+        // station graph → real fare slab (flat per distance band), ride time and interchanges
+        Optional<MetroNetworkService.MetroRoute> route = metroNetworkService.route(origin, destination);
+        if (route.isPresent()) {
+            MetroNetworkService.MetroRoute r = route.get();
+            return ProviderFare.builder()
+                    .providerId(providerId())
+                    .providerName("Metro")
+                    .vehicleType("metro")
+                    .distanceKm(distance)
+                    .price(r.fare())
+                    .etaMinutes(Math.max(5, r.etaMinutes()))
+                    .currency("INR")
+                    .isSurge(false)
+                    .productName(productName(r))
+                    .baseFare(r.fare())
+                    .metadata(EXTRAS)
+                    .build();
+        }
+
+        // station not in the graph yet → distance formula
+        double distanceFare = distance * RATE_PER_KM;
         int eta = (int) Math.max(5, distance / 0.4);
 
         return ProviderFare.builder()
@@ -44,14 +85,39 @@ public class MetroClient implements ProviderClient {
                 .providerName("Metro")
                 .vehicleType("metro")
                 .distanceKm(distance)
-                .price(price)
+                .price(BASE_FARE + distanceFare)
                 .etaMinutes(eta)
                 .currency("INR")
                 .isSurge(false)
-                .metadata(Map.of("network", "city-metro"))
+                .productName("Metro")
+                .baseFare(BASE_FARE)
+                .ratePerKm(RATE_PER_KM)
+                .distanceFare(distanceFare)
+                .metadata(EXTRAS)
                 .build();
     }
 
+    // e.g. "Metro Dilshad Garden → Aiims, 1 interchange"
+    private static String productName(MetroNetworkService.MetroRoute r) {
+        String name = "Metro " + titleCase(r.fromStation()) + " → " + titleCase(r.toStation());
+        return switch (r.interchanges()) {
+            case 0 -> name;
+            case 1 -> name + ", 1 interchange";
+            default -> name + ", " + r.interchanges() + " interchanges";
+        };
+    }
+
+    private static String titleCase(String station) {
+        StringBuilder out = new StringBuilder(station.length());
+        for (String word : station.split(" ")) {
+            if (!out.isEmpty()) {
+                out.append(' ');
+            }
+            out.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        }
+        return out.toString();
+    }
+
     @Override
     public List<ProviderFare> getFaresBatch(
             String origin,
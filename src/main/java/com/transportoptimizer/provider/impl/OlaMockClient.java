@@ -2,35 +2,53 @@ package com.transportoptimizer.provider.impl;
 
 import com.transportoptimizer.entity.ProviderFare;
 import com.transportoptimizer.provider.ProviderClient;
+import com.transportoptimizer.provider.ProviderEligibility;
+import com.transportoptimizer.provider.pricing.PricingEngine;
+import com.transportoptimizer.provider.pricing.Tariff;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.*;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class OlaMockClient implements ProviderClient {
 
-    // Base fare per vehicle type (INR)
-    private static final Map<String, Double> BASE_FARE = Map.of(
-            "cab", 40.0,
-            "premium_cab", 70.0,
-            "auto", 25.0
+    // constant extras, shared by every fare
+    private static final Map<String, Object> EXTRAS = Map.of(
+            "pricingModel", "base + distance * surge",
+            "source", "osrm"
     );
 
-    // Fixed rate per km per vehicle type
-    private static final Map<String, Double> RATE_PER_KM = Map.of(
-            "cab", 11.0,
-            "premium_cab", 16.0,
-            "auto", 7.0
-    );
+    // base, per km, eta range, surge at peak / afternoon / night
+    private static final Tariff TARIFF = Tariff.builder("Ola", "Ola (Mock)")
+            .productAsProviderName()
+            .surgeThreshold(1.15)
+            .extras(EXTRAS)
+            .product("Ola Mini", "cab", 40.0, 11.0, 7, 14, 1.20, 1.0, 1.05)
+            .product("Ola Prime", "premium_cab", 70.0, 16.0, 6, 12, 1.30, 1.05, 1.10)
+            .product("Ola Auto", "auto", 25.0, 7.0, 4, 8, 1.10, 0.95, 1.0)
+            .build();
+
+    private static final ProviderEligibility ELIGIBILITY = ProviderEligibility.builder()
+            .vehicleTypes(TARIFF.vehicleTypes())
+            .build();
 
+    private final PricingEngine pricingEngine;
 
     @Override
     public String providerId() {
         return "Ola";
     }
 
+    @Override
+    public ProviderEligibility eligibility() {
+        return ELIGIBILITY;
+    }
+
     @Override
     public String providerName() {
         return "Ola (Mock)";
@@ -39,11 +57,10 @@ public class OlaMockClient implements ProviderClient {
     // Quick estimate → no time context → controlled randomness
     @Override
     public ProviderFare getFare(String origin, String destination, double distance) {
-        return getFaresBatch(origin, destination, distance, null).get(0);
+        return pricingEngine.priceOne(TARIFF, 0, origin, destination, distance, null);
     }
 
-
-    // Compare / planned trip → time-aware surge
+    // Compare / planned trip → time-aware surge, all products in one pass
     @Override
     public List<ProviderFare> getFaresBatch(
             String origin,
@@ -51,102 +68,6 @@ public class OlaMockClient implements ProviderClient {
             double distance,
             Map<String, Object> options
     ) {
-        return List.of(
-                buildFare("Ola Mini", "cab", distance, 7, 14, options),
-                buildFare("Ola Prime", "premium_cab", distance, 6, 12, options),
-                buildFare("Ola Auto", "auto", distance, 4, 8, options)
-        );
-    }
-
-    private ProviderFare buildFare(
-            String vehicleName,
-            String vehicleType,
-            double distance,
-            int minEta,
-            int maxEta,
-            Map<String, Object> options
-    ) {
-        double baseFare = BASE_FARE.getOrDefault(vehicleType, 0.0);
-        double ratePerKm = RATE_PER_KM.getOrDefault(vehicleType, 0.0);
-        double distanceFare = distance * ratePerKm;
-
-        double surgeFactor = calculateSurgeFactor(vehicleType, options);
-        boolean surge = surgeFactor > 1.15;
-
-        double finalPrice = (baseFare + distanceFare) * surgeFactor;
-
-        return ProviderFare.builder()
-                .providerId(providerId()+" : "+vehicleType)
-                .providerName(vehicleName)
-                .vehicleType(vehicleType)
-                .distanceKm(distance)
-                .price(finalPrice)
-                .etaMinutes((int) random(minEta, maxEta))
-                .currency("INR")
-                .isSurge(surge)
-                .metadata(Map.of(
-                        "baseFare", baseFare,
-                        "ratePerKm", ratePerKm,
-                        "distanceFare", distanceFare,
-                        "surgeFactor", surgeFactor,
-                        "pricingModel", "base + distance * surge",
-                        "source", "osrm"
-                ))
-                .build();
-    }
-
-    private double calculateSurgeFactor(
-            String vehicleType,
-            Map<String, Object> options
-    ) {
-        // No time provided → controlled randomness
-        if (options == null || !options.containsKey("departureTime")) {
-            return random(0.95, 1.15);
-        }
-
-        try {
-            String timeStr = options.get("departureTime").toString();
-            int hour = Integer.parseInt(timeStr.substring(11, 13)); // yyyy-MM-ddTHH:mm
-
-            boolean morningPeak = hour >= 8 && hour <= 11;
-            boolean eveningPeak = hour >= 17 && hour <= 21;
-            boolean afternoonLow = hour >= 12 && hour <= 16;
-
-            double baseSurge;
-
-            if (morningPeak || eveningPeak) {
-                baseSurge = switch (vehicleType) {
-                    case "auto" -> 1.10;
-                    case "cab" -> 1.20;
-                    case "premium_cab" -> 1.30;
-                    default -> 1.15;
-                };
-            } else if (afternoonLow) {
-                baseSurge = switch (vehicleType) {
-                    case "auto" -> 0.95;
-                    case "cab" -> 1.0;
-                    case "premium_cab" -> 1.05;
-                    default -> 1.0;
-                };
-            } else {
-                // night / early morning
-                baseSurge = switch (vehicleType) {
-                    case "auto" -> 1.0;
-                    case "cab" -> 1.05;
-                    case "premium_cab" -> 1.10;
-                    default -> 1.05;
-                };
-            }
-
-            // small randomness to avoid static pricing
-            return baseSurge + random(-0.05, 0.05);
-
-        } catch (Exception e) {
-            return random(0.95, 1.15);
-        }
-    }
-
-    private double random(double min, double max) {
-        return new Random().nextDouble() * (max - min) + min;
+        return pricingEngine.priceAll(TARIFF, origin, destination, distance, options);
     }
 }
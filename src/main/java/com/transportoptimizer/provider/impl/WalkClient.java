@@ -2,16 +2,28 @@ package com.transportoptimizer.provider.impl;
 
 import com.transportoptimizer.entity.ProviderFare;
 import com.transportoptimizer.provider.ProviderClient;
+import com.transportoptimizer.provider.ProviderEligibility;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
 public class WalkClient implements ProviderClient {
 
     private static final double MAX_WALK_DISTANCE_KM = 3.0;
 
+    private static final ProviderEligibility ELIGIBILITY = ProviderEligibility.builder()
+            .distanceKm(Double.MIN_VALUE, MAX_WALK_DISTANCE_KM)
+            .vehicleTypes(Set.of("walk"))
+            .build();
+
+    private static final Map<String, Object> EXTRAS = Map.of(
+            "healthBenefit", "high",
+            "recommendedFor", "short distances"
+    );
+
     @Override
     public String providerId() {
         return "Walk";
@@ -21,6 +33,12 @@ public class WalkClient implements ProviderClient {
     public String providerName() {
         return "Walk";
     }
+
+    // unknown distance (<= 0) or too far → not dispatched at all
+    @Override
+    public ProviderEligibility eligibility() {
+        return ELIGIBILITY;
+    }
     @Override
     public ProviderFare getFare(String origin, String destination, double distanceKm) {
         // delegate to batch (single option)
@@ -57,12 +75,9 @@ public class WalkClient implements ProviderClient {
                         .etaMinutes(etaMinutes)
                         .currency("INR")
                         .isSurge(false)
-                        .metadata(Map.of(
-                                "co2EmissionKg", 0.0,
-                                "co2SavedKg", co2SavedKg,
-                                "healthBenefit", "high",
-                                "recommendedFor", "short distances"
-                        ))
+                        .co2EmissionKg(0.0)
+                        .co2SavedKg(co2SavedKg)
+                        .metadata(EXTRAS)
                         .build()
         );
     }
@@ -0,0 +1,134 @@
+package com.transportoptimizer.provider.pricing;
+
+import com.transportoptimizer.entity.ProviderFare;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Shared pricing for the stand-in providers:
+ * (base + km * rate) * (hour-bucket surge ± 0.05), ETA uniform in [min, max).
+ * Hour bucket is resolved once per call, all products priced in one pass.
+ * With {@code pricing.mock.seed} set, every (provider, route, hour) prices the same on every run.
+ */
+@Component
+public class PricingEngine {
+
+    // hour of day → PEAK / AFTERNOON / NIGHT
+    private static final byte[] HOUR_BUCKET = new byte[24];
+
+    static {
+        for (int h = 0; h < 24; h++) {
+            boolean peak = (h >= 8 && h <= 11) || (h >= 17 && h <= 21);
+            boolean afternoon = h >= 12 && h <= 16;
+            HOUR_BUCKET[h] = (byte) (peak ? Tariff.PEAK : afternoon ? Tariff.AFTERNOON : Tariff.NIGHT);
+        }
+    }
+
+    // no departure time → surge drawn from [0.95, 1.15)
+    private static final int NO_BUCKET = -1;
+
+    private final boolean seeded;
+    private final long seed;
+
+    public PricingEngine(@Value("${pricing.mock.seed:}") String seed) {
+        this.seeded = seed != null && !seed.isBlank();
+        this.seed = seeded ? Long.parseLong(seed.trim()) : 0L;
+    }
+
+    /**
+     * All products of the tariff, in tariff order.
+     */
+    public List<ProviderFare> priceAll(Tariff tariff, String origin, String destination,
+                                       double distance, Map<String, Object> options) {
+        int bucket = bucketOf(options);
+        RandomGenerator random = randomFor(tariff, origin, destination, distance, bucket);
+
+        List<ProviderFare> fares = new ArrayList<>(tariff.products());
+        for (int i = 0; i < tariff.products(); i++) {
+            fares.add(price(tariff, i, distance, bucket, random));
+        }
+        return fares;
+    }
+
+    /**
+     * A single product (quick estimate path).
+     */
+    public ProviderFare priceOne(Tariff tariff, int product, String origin, String destination,
+                                 double distance, Map<String, Object> options) {
+        int bucket = bucketOf(options);
+        return price(tariff, product, distance, bucket, randomFor(tariff, origin, destination, distance, bucket));
+    }
+
+    private ProviderFare price(Tariff t, int i, double distance, int bucket, RandomGenerator random) {
+        double distanceFare = distance * t.ratePerKm[i];
+
+        // slight randomness so prices don't feel static
+        double surgeFactor = bucket == NO_BUCKET
+                ? uniform(random, 0.95, 1.15)
+                : t.surge[bucket * t.products() + i] + uniform(random, -0.05, 0.05);
+
+        return ProviderFare.builder()
+                .providerId(t.fareIds[i])
+                .providerName(t.productAsProviderName ? t.productNames[i] : t.providerName)
+                .vehicleType(t.vehicleTypes[i])
+                .distanceKm(distance)
+                .price((t.baseFare[i] + distanceFare) * surgeFactor)
+                .etaMinutes((int) uniform(random, t.minEta[i], t.maxEta[i]))
+                .currency("INR")
+                .isSurge(surgeFactor > t.surgeThreshold)
+                .productName(t.productNames[i])
+                .baseFare(t.baseFare[i])
+                .ratePerKm(t.ratePerKm[i])
+                .distanceFare(distanceFare)
+                .surgeFactor(surgeFactor)
+                .metadata(t.extras)
+                .build();
+    }
+
+    /**
+     * departureTime "yyyy-MM-ddTHH:mm..." → hour bucket, read straight from the chars.
+     */
+    static int bucketOf(Map<String, Object> options) {
+        Object value = options == null ? null : options.get("departureTime");
+        if (value == null) {
+            return NO_BUCKET;
+        }
+        String time = value.toString();
+        if (time.length() < 13) {
+            return NO_BUCKET;
+        }
+        int tens = time.charAt(11) - '0';
+        int ones = time.charAt(12) - '0';
+        if (tens < 0 || tens > 9 || ones < 0 || ones > 9) {
+            return NO_BUCKET;
+        }
+        int hour = tens * 10 + ones;
+        return hour < 24 ? HOUR_BUCKET[hour] : NO_BUCKET;
+    }
+
+    // seeded → one small generator per call, independent of thread scheduling
+    private RandomGenerator randomFor(Tariff tariff, String origin, String destination,
+                                      double distance, int bucket) {
+        if (!seeded) {
+            return ThreadLocalRandom.current();
+        }
+        long h = seed;
+        h = 31 * h + tariff.providerId.hashCode();
+        h = 31 * h + (origin == null ? 0 : origin.hashCode());
+        h = 31 * h + (destination == null ? 0 : destination.hashCode());
+        h = 31 * h + Double.hashCode(distance);
+        h = 31 * h + bucket;
+        return new SplittableRandom(h);
+    }
+
+    private static double uniform(RandomGenerator random, double min, double max) {
+        return random.nextDouble() * (max - min) + min;
+    }
+}
@@ -0,0 +1,142 @@
+package com.transportoptimizer.provider.pricing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One provider's price list compiled into parallel primitive arrays
+ * (index = product). Built once, read by {@link PricingEngine} for every fare.
+ */
+public final class Tariff {
+
+    public static final int PEAK = 0;
+    public static final int AFTERNOON = 1;
+    public static final int NIGHT = 2;
+    static final int BUCKETS = 3;
+
+    final String providerId;
+    final String providerName;
+    final boolean productAsProviderName;
+    final double surgeThreshold;
+    final Map<String, Object> extras;
+
+    final String[] productNames;
+    final String[] vehicleTypes;
+    final String[] fareIds;          // "Uber : cab" ("Sim : cab 2" for a repeated type), precomputed
+    final double[] baseFare;
+    final double[] ratePerKm;
+    final int[] minEta;
+    final int[] maxEta;
+
+    // surge[bucket * products + product]
+    final double[] surge;
+
+    /**
+     * "Uber : cab" for the first fare of a type, "Uber : cab 2" for the next one.
+     * Fare ids key the /choose lookup → a type offered twice must get numbered.
+     */
+    public static String fareId(String providerId, String type, Map<String, Integer> seenTypes) {
+        int ordinal = seenTypes.merge(type, 1, Integer::sum);
+        return providerId + " : " + type + (ordinal == 1 ? "" : " " + ordinal);
+    }
+
+    private Tariff(Builder b) {
+        int n = b.productNames.size();
+        this.providerId = b.providerId;
+        this.providerName = b.providerName;
+        this.productAsProviderName = b.productAsProviderName;
+        this.surgeThreshold = b.surgeThreshold;
+        this.extras = b.extras;
+
+        this.productNames = b.productNames.toArray(new String[0]);
+        this.vehicleTypes = b.vehicleTypes.toArray(new String[0]);
+        this.fareIds = new String[n];
+        this.baseFare = new double[n];
+        this.ratePerKm = new double[n];
+        this.minEta = new int[n];
+        this.maxEta = new int[n];
+        this.surge = new double[BUCKETS * n];
+
+        Map<String, Integer> seenTypes = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            double[] row = b.rows.get(i);
+            fareIds[i] = fareId(providerId, vehicleTypes[i], seenTypes);
+            baseFare[i] = row[0];
+            ratePerKm[i] = row[1];
+            minEta[i] = (int) row[2];
+            maxEta[i] = (int) row[3];
+            surge[PEAK * n + i] = row[4];
+            surge[AFTERNOON * n + i] = row[5];
+            surge[NIGHT * n + i] = row[6];
+        }
+    }
+
+    public static Builder builder(String providerId, String providerName) {
+        return new Builder(providerId, providerName);
+    }
+
+    public int products() {
+        return productNames.length;
+    }
+
+    public Set<String> vehicleTypes() {
+        return Set.of(Arrays.stream(vehicleTypes).distinct().toArray(String[]::new));
+    }
+
+    public static final class Builder {
+        private final String providerId;
+        private final String providerName;
+        private boolean productAsProviderName;
+        private double surgeThreshold = 1.2;
+        private Map<String, Object> extras = Map.of();
+
+        private final List<String> productNames = new ArrayList<>();
+        private final List<String> vehicleTypes = new ArrayList<>();
+        private final List<double[]> rows = new ArrayList<>();
+
+        private Builder(String providerId, String providerName) {
+            this.providerId = providerId;
+            this.providerName = providerName;
+        }
+
+        // fare.providerName = product name (Ola style) instead of the provider's name
+        public Builder productAsProviderName() {
+            this.productAsProviderName = true;
+            return this;
+        }
+
+        // surge factor above which a fare is flagged isSurge
+        public Builder surgeThreshold(double threshold) {
+            this.surgeThreshold = threshold;
+            return this;
+        }
+
+        public Builder extras(Map<String, Object> extras) {
+            this.extras = extras;
+            return this;
+        }
+
+        /**
+         * @param peakSurge      08–11h and 17–21h
+         * @param afternoonSurge 12–16h
+         * @param nightSurge     all other hours
+         */
+        public Builder product(String name, String vehicleType,
+                               double baseFare, double ratePerKm,
+                               int minEta, int maxEta,
+                               double peakSurge, double afternoonSurge, double nightSurge) {
+            productNames.add(name);
+            vehicleTypes.add(vehicleType);
+            rows.add(new double[]{baseFare, ratePerKm, minEta, maxEta, peakSurge, afternoonSurge, nightSurge});
+            return this;
+        }
+
+        public Tariff build() {
+            return new Tariff(this);
+        }
+    }
+}
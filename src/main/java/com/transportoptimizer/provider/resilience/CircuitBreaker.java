@@ -0,0 +1,110 @@
+package com.transportoptimizer.provider.resilience;
+
+/**
+ * Count-based circuit breaker over the last {@code windowSize} calls.
+ * CLOSED → OPEN when the failure or slow-call rate crosses its threshold,
+ * OPEN → HALF_OPEN after {@code openDurationMs}, HALF_OPEN → CLOSED once every probe succeeded.
+ */
+class CircuitBreaker {
+
+    enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final ResilienceProperties props;
+
+    private final boolean[] failures;
+    private final boolean[] slow;
+    private int next;
+    private int count;
+    private int failureCount;
+    private int slowCount;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesLeft;
+    private int probesSucceeded;
+
+    CircuitBreaker(ResilienceProperties props) {
+        this.props = props;
+        this.failures = new boolean[props.getWindowSize()];
+        this.slow = new boolean[props.getWindowSize()];
+    }
+
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < props.getOpenDurationMs()) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesLeft = props.getHalfOpenPermits();
+            probesSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesLeft <= 0) {
+                return false;
+            }
+            probesLeft--;
+        }
+        return true;
+    }
+
+    synchronized void record(long latencyMs, boolean failed) {
+        boolean isSlow = latencyMs >= props.getSlowCallMs();
+
+        if (state == State.HALF_OPEN) {
+            if (failed || isSlow) {
+                open();
+            } else if (++probesSucceeded >= props.getHalfOpenPermits()) {
+                reset();
+            }
+            return;
+        }
+
+        if (count == failures.length) {
+            if (failures[next]) failureCount--;
+            if (slow[next]) slowCount--;
+        } else {
+            count++;
+        }
+        failures[next] = failed;
+        slow[next] = isSlow;
+        if (failed) failureCount++;
+        if (isSlow) slowCount++;
+        next = (next + 1) % failures.length;
+
+        if (state == State.CLOSED && count >= props.getMinCalls()) {
+            double failureRate = (double) failureCount / count;
+            double slowRate = (double) slowCount / count;
+            if (failureRate >= props.getFailureRateThreshold()
+                    || slowRate >= props.getSlowCallRateThreshold()) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * Call abandoned by the caller (request budget spent) → no outcome to count,
+     * but a half-open probe it held is handed back.
+     */
+    synchronized void release() {
+        if (state == State.HALF_OPEN && probesLeft < props.getHalfOpenPermits()) {
+            probesLeft++;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        next = 0;
+        count = 0;
+        failureCount = 0;
+        slowCount = 0;
+    }
+}
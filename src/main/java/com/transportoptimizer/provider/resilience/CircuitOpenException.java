@@ -0,0 +1,10 @@
+package com.transportoptimizer.provider.resilience;
+
+public class CircuitOpenException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CircuitOpenException(String providerId) {
+        super("Circuit open for provider " + providerId);
+    }
+}
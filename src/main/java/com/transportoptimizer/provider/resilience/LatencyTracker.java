@@ -0,0 +1,53 @@
+package com.transportoptimizer.provider.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Ring buffer of the most recent call latencies (ms) of one provider.
+ * Percentiles are recomputed lazily, at most once every {@code RECOMPUTE_EVERY} samples.
+ */
+class LatencyTracker {
+
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private final long[] samples;
+    private int next;
+    private int count;
+    private int sinceSorted = Integer.MAX_VALUE;
+    private long[] sorted = new long[0];
+
+    LatencyTracker(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    synchronized void record(long latencyMs) {
+        samples[next] = latencyMs;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        if (sinceSorted != Integer.MAX_VALUE) {
+            sinceSorted++;
+        }
+    }
+
+    synchronized int count() {
+        return count;
+    }
+
+    /**
+     * @param p percentile in [0, 1]; returns -1 when nothing was recorded
+     */
+    synchronized long percentile(double p) {
+        if (count == 0) {
+            return -1;
+        }
+        if (sinceSorted >= RECOMPUTE_EVERY) {
+            sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            sinceSorted = 0;
+        }
+        int idx = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(idx, sorted.length - 1))];
+    }
+}
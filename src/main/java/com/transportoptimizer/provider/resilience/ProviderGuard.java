@@ -0,0 +1,121 @@
+package com.transportoptimizer.provider.resilience;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resilience state of one provider: breaker, latency history, hedge counters.
+ */
+public class ProviderGuard {
+
+    private final String providerId;
+    private final ResilienceProperties props;
+    private final CircuitBreaker breaker;
+    private final LatencyTracker latencies;
+
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    ProviderGuard(String providerId, ResilienceProperties props) {
+        this.providerId = providerId;
+        this.props = props;
+        this.breaker = new CircuitBreaker(props);
+        this.latencies = new LatencyTracker(props.getLatencySamples());
+    }
+
+    public String providerId() {
+        return providerId;
+    }
+
+    /**
+     * @return false if the breaker is open (or half-open with no probe left)
+     */
+    public boolean tryAcquire() {
+        boolean permitted = breaker.tryAcquire();
+        if (!permitted) {
+            rejected.increment();
+        }
+        return permitted;
+    }
+
+    /**
+     * Deadline adapted to observed latency: p99 * multiplier,
+     * clamped to [minTimeoutMs, configuredTimeoutMs].
+     */
+    public long timeoutMs(long configuredTimeoutMs) {
+        if (latencies.count() < props.getMinLatencySamples()) {
+            return configuredTimeoutMs;
+        }
+        long adaptive = (long) (latencies.percentile(0.99) * props.getTimeoutMultiplier());
+        return Math.max(props.getMinTimeoutMs(), Math.min(adaptive, configuredTimeoutMs));
+    }
+
+    /**
+     * @return delay after which a duplicate request should be sent, or -1 for no hedge
+     */
+    public long hedgeDelayMs() {
+        if (!props.isHedgeEnabled() || latencies.count() < props.getMinLatencySamples()) {
+            return -1;
+        }
+        long p50 = latencies.percentile(0.50);
+        long p99 = latencies.percentile(0.99);
+        if (p99 <= props.getHedgeTailRatio() * Math.max(1, p50)) {
+            return -1;
+        }
+        return Math.max(1, latencies.percentile(props.getHedgeDelayPercentile()));
+    }
+
+    public void record(long latencyMs, Throwable error) {
+        // a timed-out call still tells us the latency was at least the deadline
+        if (error == null || error instanceof TimeoutException) {
+            latencies.record(latencyMs);
+        }
+        breaker.record(latencyMs, error != null);
+    }
+
+    /**
+     * Call cancelled on our side → neither a success nor a failure of the provider.
+     */
+    public void release() {
+        breaker.release();
+    }
+
+    public void recordHedge() {
+        hedges.increment();
+    }
+
+    public void recordHedgeWin() {
+        hedgeWins.increment();
+    }
+
+    // ---- exposed as metrics ----
+
+    public int stateCode() {
+        return switch (breaker.state()) {
+            case CLOSED -> 0;
+            case HALF_OPEN -> 1;
+            case OPEN -> 2;
+        };
+    }
+
+    public double p50() {
+        return latencies.percentile(0.50);
+    }
+
+    public double p99() {
+        return latencies.percentile(0.99);
+    }
+
+    public long hedges() {
+        return hedges.sum();
+    }
+
+    public long hedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+}
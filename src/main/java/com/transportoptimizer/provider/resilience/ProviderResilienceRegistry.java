@@ -0,0 +1,48 @@
+package com.transportoptimizer.provider.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link ProviderGuard} per providerId, created on first use.
+ * Breaker state (0 closed, 1 half-open, 2 open), latency percentiles and
+ * hedge counts are published as provider.* metrics tagged with the provider.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProviderResilienceRegistry {
+
+    private final ResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, ProviderGuard> guards = new ConcurrentHashMap<>();
+
+    public ProviderGuard guard(String providerId) {
+        return guards.computeIfAbsent(providerId, this::create);
+    }
+
+    private ProviderGuard create(String providerId) {
+        ProviderGuard guard = new ProviderGuard(providerId, properties);
+
+        Gauge.builder("provider.circuit.state", guard, ProviderGuard::stateCode)
+                .tag("provider", providerId).register(meterRegistry);
+        Gauge.builder("provider.latency.p50", guard, ProviderGuard::p50)
+                .tag("provider", providerId).baseUnit("milliseconds").register(meterRegistry);
+        Gauge.builder("provider.latency.p99", guard, ProviderGuard::p99)
+                .tag("provider", providerId).baseUnit("milliseconds").register(meterRegistry);
+        FunctionCounter.builder("provider.hedges", guard, ProviderGuard::hedges)
+                .tag("provider", providerId).register(meterRegistry);
+        FunctionCounter.builder("provider.hedge.wins", guard, ProviderGuard::hedgeWins)
+                .tag("provider", providerId).register(meterRegistry);
+        FunctionCounter.builder("provider.circuit.rejected", guard, ProviderGuard::rejected)
+                .tag("provider", providerId).register(meterRegistry);
+
+        return guard;
+    }
+}
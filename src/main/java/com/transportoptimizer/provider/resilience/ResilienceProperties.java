@@ -0,0 +1,34 @@
+package com.transportoptimizer.provider.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Circuit breaker / adaptive timeout / hedging knobs (see {@code resilience.*}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "resilience")
+public class ResilienceProperties {
+
+    // ---- circuit breaker ----
+    private int windowSize = 50;                  // last N calls per provider
+    private int minCalls = 20;                    // no decision before that
+    private double failureRateThreshold = 0.5;
+    private double slowCallRateThreshold = 0.8;
+    private long slowCallMs = 600;
+    private long openDurationMs = 10_000;
+    private int halfOpenPermits = 3;              // probe calls after open
+
+    // ---- adaptive timeout ----
+    private int latencySamples = 256;
+    private int minLatencySamples = 30;
+    private double timeoutMultiplier = 1.5;       // timeout = p99 * multiplier
+    private long minTimeoutMs = 100;              // max = fan-out provider timeout
+
+    // ---- hedging ----
+    private boolean hedgeEnabled = true;
+    private double hedgeTailRatio = 3.0;          // hedge if p99 > ratio * p50
+    private double hedgeDelayPercentile = 0.95;   // duplicate fires after this latency
+}
@@ -0,0 +1,131 @@
+package com.transportoptimizer.provider.simulated;
+
+import com.transportoptimizer.entity.ProviderFare;
+import com.transportoptimizer.provider.ProviderClient;
+import com.transportoptimizer.provider.pricing.PricingEngine;
+import com.transportoptimizer.provider.pricing.Tariff;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Provider that behaves like a remote API: blocks for a sampled latency,
+ * fails, hangs or trickles its fares, as configured in its {@link SimulatedProviderProperties.Spec}.
+ * Blocking is interruptible, so fan-out timeouts and hedge cancellation work as with real HTTP calls.
+ */
+public class SimulatedProviderClient implements ProviderClient {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final SimulatedProviderProperties.Spec spec;
+    private final PricingEngine pricingEngine;
+    private final Tariff tariff;
+    private final Long seed;
+    private final AtomicLong calls = new AtomicLong();
+
+    public SimulatedProviderClient(SimulatedProviderProperties.Spec spec, Long seed, PricingEngine pricingEngine) {
+        this.spec = spec;
+        this.seed = seed;
+        this.pricingEngine = pricingEngine;
+
+        Tariff.Builder builder = Tariff.builder(spec.getId(), spec.getName())
+                .extras(Map.of("source", "simulated"));
+        for (int i = 0; i < Math.max(1, spec.getFares()); i++) {
+            builder.product(spec.getName() + (i == 0 ? "" : " " + (i + 1)), spec.getVehicleType(),
+                    spec.getBaseFare() * (1 + 0.2 * i), spec.getRatePerKm() * (1 + 0.2 * i),
+                    3, 10, 1.2, 1.0, 1.05);
+        }
+        this.tariff = builder.build();
+    }
+
+    @Override
+    public String providerId() {
+        return spec.getId();
+    }
+
+    @Override
+    public String providerName() {
+        return spec.getName();
+    }
+
+    @Override
+    public ProviderFare getFare(String origin, String destination, double distanceKm) {
+        List<ProviderFare> fares = getFaresBatch(origin, destination, distanceKm, null);
+        return fares.isEmpty() ? null : fares.get(0);
+    }
+
+    @Override
+    public List<ProviderFare> getFaresBatch(
+            String origin,
+            String destination,
+            double distanceKm,
+            Map<String, Object> options
+    ) {
+        RandomGenerator random = nextRandom();
+        List<ProviderFare> fares = pricingEngine.priceAll(tariff, origin, destination, distanceKm, options);
+
+        double roll = random.nextDouble();
+        if (roll < spec.getErrorRate()) {
+            sleep(sampleLatency(random));
+            throw new IllegalStateException("Simulated failure of " + spec.getId());
+        }
+        roll -= spec.getErrorRate();
+
+        if (roll < spec.getTimeoutRate()) {
+            sleep(spec.getHangMs());
+            return fares;
+        }
+        roll -= spec.getTimeoutRate();
+
+        sleep(sampleLatency(random));
+
+        // slow drip: fares "arrive" one by one
+        if (roll < spec.getSlowDripRate()) {
+            List<ProviderFare> received = new ArrayList<>(fares.size());
+            for (ProviderFare fare : fares) {
+                sleep(spec.getDripIntervalMs());
+                received.add(fare);
+            }
+            return received;
+        }
+        return fares;
+    }
+
+    long sampleLatency(RandomGenerator random) {
+        SimulatedProviderProperties.Latency l = spec.getLatency();
+        return switch (l.getDistribution()) {
+            case FIXED -> l.getFixedMs();
+            case LOGNORMAL -> Math.round(l.getMedianMs() * Math.exp(l.getSigma() * random.nextGaussian()));
+            case BIMODAL -> {
+                long mode = random.nextDouble() < l.getSlowRatio() ? l.getSlowMs() : l.getFastMs();
+                yield Math.round(mode * (0.9 + 0.2 * random.nextDouble()));
+            }
+        };
+    }
+
+    // seeded → the n-th call of this provider always draws the same values
+    private RandomGenerator nextRandom() {
+        if (seed == null) {
+            return ThreadLocalRandom.current();
+        }
+        return new SplittableRandom(seed ^ spec.getId().hashCode() ^ (calls.incrementAndGet() * GOLDEN_GAMMA));
+    }
+
+    private static void sleep(long ms) {
+        if (ms <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            // cancelled by the fan-out (timeout / hedge lost)
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulated call interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.transportoptimizer.provider.simulated;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stand-in providers for load tests ({@code simulated.*}, profile "loadtest").
+ * Bound by {@link SimulatedProviderRegistrar} before the context is refreshed.
+ */
+@Data
+public class SimulatedProviderProperties {
+
+    // empty → random; set → every run draws the same latency/fault sequence
+    private Long seed;
+
+    private List<Spec> providers = new ArrayList<>();
+
+    @Data
+    public static class Spec {
+        private String id;
+        private String name;
+        private String vehicleType = "cab";
+        private double baseFare = 40.0;
+        private double ratePerKm = 10.0;
+
+        // fares per response (slow drip sends them one by one)
+        private int fares = 1;
+
+        private Latency latency = new Latency();
+
+        // probabilities per call, checked in this order
+        private double errorRate = 0.0;
+        private double timeoutRate = 0.0;
+        private double slowDripRate = 0.0;
+
+        // "timeout" = hang this long (interrupted when the fan-out gives up)
+        private long hangMs = 30_000;
+
+        // slow drip: pause before every fare
+        private long dripIntervalMs = 300;
+    }
+
+    @Data
+    public static class Latency {
+        private Distribution distribution = Distribution.FIXED;
+
+        // FIXED
+        private long fixedMs = 50;
+
+        // LOGNORMAL: median * e^(sigma * N(0,1))
+        private long medianMs = 100;
+        private double sigma = 0.5;
+
+        // BIMODAL: fastMs most of the time, slowMs with slowRatio probability (each ±10%)
+        private long fastMs = 50;
+        private long slowMs = 1000;
+        private double slowRatio = 0.05;
+    }
+
+    public enum Distribution {
+        FIXED, LOGNORMAL, BIMODAL
+    }
+}
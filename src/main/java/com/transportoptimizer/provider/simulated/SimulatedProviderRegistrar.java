@@ -0,0 +1,62 @@
+package com.transportoptimizer.provider.simulated;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Profile "loadtest": registers one {@link SimulatedProviderClient} bean per
+ * {@code simulated.providers[n]} entry, so they join the fan-out like any other provider.
+ * See application-loadtest.properties.
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+public class SimulatedProviderRegistrar implements BeanDefinitionRegistryPostProcessor, EnvironmentAware {
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+        SimulatedProviderProperties properties = Binder.get(environment)
+                .bind("simulated", SimulatedProviderProperties.class)
+                .orElseGet(SimulatedProviderProperties::new);
+
+        for (SimulatedProviderProperties.Spec spec : properties.getProviders()) {
+            if (spec.getId() == null || spec.getId().isBlank()) {
+                throw new IllegalArgumentException("simulated.providers[].id is required");
+            }
+            if (spec.getName() == null) {
+                spec.setName(spec.getId());
+            }
+
+            registry.registerBeanDefinition("simulatedProvider-" + spec.getId(),
+                    BeanDefinitionBuilder.genericBeanDefinition(SimulatedProviderClient.class)
+                            .addConstructorArgValue(spec)
+                            .addConstructorArgValue(properties.getSeed())
+                            .addConstructorArgReference("pricingEngine")
+                            .getBeanDefinition());
+
+            log.info("Simulated provider {} registered ({} latency, error {}, timeout {}, slow-drip {})",
+                    spec.getId(), spec.getLatency().getDistribution(),
+                    spec.getErrorRate(), spec.getTimeoutRate(), spec.getSlowDripRate());
+        }
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        // nothing to do
+    }
+}
@@ -0,0 +1,190 @@
+package com.transportoptimizer.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Case-insensitive multi-pattern substring matcher (Aho-Corasick).
+ * Compiled once into a dense transition table over the patterns' alphabet,
+ * so scanning is one table lookup per input char, whatever the number of patterns.
+ * Immutable after {@link Builder#build()} → safe to share between threads.
+ */
+public final class AhoCorasick<T> {
+
+    // char → column; chars not used by any pattern share column 0
+    private final Map<Character, Integer> alphabet;
+    private final char[] asciiColumns;
+    private final int columns;
+
+    // next state = transitions[state * columns + column]
+    private final int[] transitions;
+
+    // pattern ids ending in each state (suffix outputs already merged)
+    private final int[][] outputs;
+
+    private final List<T> values;
+
+    private AhoCorasick(Map<Character, Integer> alphabet, int[] transitions, int[][] outputs, List<T> values) {
+        this.alphabet = alphabet;
+        this.columns = alphabet.size() + 1;
+        this.transitions = transitions;
+        this.outputs = outputs;
+        this.values = values;
+
+        this.asciiColumns = new char[128];
+        alphabet.forEach((c, col) -> {
+            if (c < 128) {
+                asciiColumns[c] = (char) (int) col;
+            }
+        });
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Calls {@code onMatch} with the id of every pattern occurring in {@code text}
+     * (once per occurrence), in a single pass without allocating.
+     */
+    public void scan(CharSequence text, IntConsumer onMatch) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * columns + column(Character.toLowerCase(text.charAt(i)))];
+            for (int id : outputs[state]) {
+                onMatch.accept(id);
+            }
+        }
+    }
+
+    /**
+     * Values of all patterns found in {@code text}, each at most once.
+     */
+    public List<T> findAll(CharSequence text) {
+        boolean[] seen = new boolean[values.size()];
+        List<T> found = new ArrayList<>();
+        scan(text, id -> {
+            if (!seen[id]) {
+                seen[id] = true;
+                found.add(values.get(id));
+            }
+        });
+        return found;
+    }
+
+    public T value(int patternId) {
+        return values.get(patternId);
+    }
+
+    public int patternCount() {
+        return values.size();
+    }
+
+    public int stateCount() {
+        return outputs.length;
+    }
+
+    private int column(char c) {
+        if (c < 128) {
+            return asciiColumns[c];
+        }
+        Integer col = alphabet.get(c);
+        return col == null ? 0 : col;
+    }
+
+    public static final class Builder<T> {
+
+        private final List<String> patterns = new ArrayList<>();
+        private final List<T> values = new ArrayList<>();
+
+        public Builder<T> add(String pattern, T value) {
+            if (pattern == null || pattern.isEmpty()) {
+                throw new IllegalArgumentException("pattern must not be empty");
+            }
+            patterns.add(pattern.toLowerCase());
+            values.add(value);
+            return this;
+        }
+
+        public AhoCorasick<T> build() {
+            Map<Character, Integer> alphabet = new HashMap<>();
+            for (String p : patterns) {
+                for (int i = 0; i < p.length(); i++) {
+                    alphabet.putIfAbsent(p.charAt(i), alphabet.size() + 1);
+                }
+            }
+            int columns = alphabet.size() + 1;
+
+            // 1) trie (-1 = no edge yet)
+            List<int[]> trie = new ArrayList<>();
+            List<List<Integer>> out = new ArrayList<>();
+            trie.add(newRow(columns));
+            out.add(new ArrayList<>());
+
+            for (int id = 0; id < patterns.size(); id++) {
+                String p = patterns.get(id);
+                int state = 0;
+                for (int i = 0; i < p.length(); i++) {
+                    int col = alphabet.get(p.charAt(i));
+                    if (trie.get(state)[col] < 0) {
+                        trie.get(state)[col] = trie.size();
+                        trie.add(newRow(columns));
+                        out.add(new ArrayList<>());
+                    }
+                    state = trie.get(state)[col];
+                }
+                out.get(state).add(id);
+            }
+
+            // 2) BFS: failure links folded into a full transition table
+            int states = trie.size();
+            int[] transitions = new int[states * columns];
+            int[] fail = new int[states];
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+
+            for (int col = 0; col < columns; col++) {
+                int next = trie.get(0)[col];
+                if (next < 0) {
+                    transitions[col] = 0;
+                } else {
+                    transitions[col] = next;
+                    fail[next] = 0;
+                    queue.add(next);
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                out.get(state).addAll(out.get(fail[state]));
+
+                for (int col = 0; col < columns; col++) {
+                    int next = trie.get(state)[col];
+                    if (next < 0) {
+                        transitions[state * columns + col] = transitions[fail[state] * columns + col];
+                    } else {
+                        transitions[state * columns + col] = next;
+                        fail[next] = transitions[fail[state] * columns + col];
+                        queue.add(next);
+                    }
+                }
+            }
+
+            int[][] outputs = new int[states][];
+            for (int s = 0; s < states; s++) {
+                outputs[s] = out.get(s).stream().mapToInt(Integer::intValue).toArray();
+            }
+            return new AhoCorasick<>(Map.copyOf(alphabet), transitions, outputs, List.copyOf(values));
+        }
+
+        private static int[] newRow(int columns) {
+            int[] row = new int[columns];
+            Arrays.fill(row, -1);
+            return row;
+        }
+    }
+}
@@ -61,6 +61,9 @@ public class DtoMapper {
                 .isSurge(providerFare.isSurge())
                 .metadata(providerFare.getMetadata())
                 .vehicleType(providerFare.getVehicleType())
+                .productName(providerFare.getProductName())
+                .surgeFactor(providerFare.getSurgeFactor())
+                .co2EmissionKg(providerFare.getCo2EmissionKg())
                 .build();
     }
 
@@ -0,0 +1,206 @@
+package com.transportoptimizer.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact, read-only place → coordinates index.
+ * <p>
+ * Layout (big endian):
+ * <pre>
+ * int magic | long sourceHash | int count | int cityCount | cityCount × (short len, utf8 bytes)
+ * count × (long nameHash, float lat, float lon, int cityId)   ← sorted by nameHash
+ * </pre>
+ * The same layout is used on the heap and in a memory-mapped file,
+ * lookups are a binary search with absolute reads (thread-safe, no allocation).
+ * Names are stored as 64-bit FNV-1a hashes of the normalized name only.
+ * {@code sourceHash} fingerprints the data the index was built from, so a stale file can be detected.
+ */
+public final class GazetteerIndex {
+
+    private static final int MAGIC = 0x47415A32; // "GAZ2"
+    private static final int HEADER_BYTES = 4 + 8 + 4 + 4;
+    private static final int ENTRY_BYTES = 8 + 4 + 4 + 4;
+
+    private final ByteBuffer buffer;
+    private final long sourceHash;
+    private final int count;
+    private final int entriesOffset;
+    private final String[] cities;
+
+    private GazetteerIndex(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a gazetteer index");
+        }
+        this.sourceHash = buffer.getLong(4);
+        this.count = buffer.getInt(12);
+        this.cities = new String[buffer.getInt(16)];
+
+        int pos = HEADER_BYTES;
+        for (int i = 0; i < cities.length; i++) {
+            int len = buffer.getShort(pos);
+            byte[] bytes = new byte[len];
+            buffer.get(pos + 2, bytes);
+            cities[i] = new String(bytes, StandardCharsets.UTF_8);
+            pos += 2 + len;
+        }
+        this.entriesOffset = pos;
+    }
+
+    public static GazetteerIndex build(List<Place> places) {
+        return build(places, 0L);
+    }
+
+    /**
+     * Builds a heap index; duplicate names keep their first occurrence.
+     *
+     * @param sourceHash {@link #fingerprint} of the source the places were read from
+     */
+    public static GazetteerIndex build(List<Place> places, long sourceHash) {
+        Map<String, Integer> cityIds = new LinkedHashMap<>();
+        List<long[]> rows = new ArrayList<>(places.size());
+        List<Place> sourcePlaces = new ArrayList<>(places.size());
+        Set<Long> seen = new HashSet<>();
+
+        for (Place place : places) {
+            long hash = hash(place.name());
+            if (seen.add(hash)) {
+                cityIds.putIfAbsent(place.city(), cityIds.size());
+                rows.add(new long[]{hash, sourcePlaces.size()});
+                sourcePlaces.add(place);
+            }
+        }
+        rows.sort(Comparator.comparingLong(r -> r[0]));
+
+        int citiesBytes = 0;
+        List<byte[]> cityNames = new ArrayList<>(cityIds.size());
+        for (String city : cityIds.keySet()) {
+            byte[] bytes = city.getBytes(StandardCharsets.UTF_8);
+            cityNames.add(bytes);
+            citiesBytes += 2 + bytes.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + citiesBytes + rows.size() * ENTRY_BYTES);
+        buffer.putInt(MAGIC).putLong(sourceHash).putInt(rows.size()).putInt(cityNames.size());
+        for (byte[] bytes : cityNames) {
+            buffer.putShort((short) bytes.length).put(bytes);
+        }
+        for (long[] row : rows) {
+            Place place = sourcePlaces.get((int) row[1]);
+            buffer.putLong(row[0])
+                    .putFloat((float) place.lat())
+                    .putFloat((float) place.lon())
+                    .putInt(cityIds.get(place.city()));
+        }
+        buffer.flip();
+        return new GazetteerIndex(buffer.asReadOnlyBuffer());
+    }
+
+    /**
+     * Maps an index file written by {@link #writeTo(Path)} (pages loaded lazily by the OS).
+     */
+    public static GazetteerIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new GazetteerIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public void writeTo(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer copy = buffer.duplicate();
+            copy.position(0);
+            while (copy.hasRemaining()) {
+                channel.write(copy);
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Entry index of an already normalized name, -1 if unknown.
+     */
+    public int find(String normalizedName) {
+        long key = hash(normalizedName);
+        int lo = 0;
+        int hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long midKey = buffer.getLong(entriesOffset + mid * ENTRY_BYTES);
+            if (midKey < key) {
+                lo = mid + 1;
+            } else if (midKey > key) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public double lat(int entry) {
+        return buffer.getFloat(entriesOffset + entry * ENTRY_BYTES + 8);
+    }
+
+    public double lon(int entry) {
+        return buffer.getFloat(entriesOffset + entry * ENTRY_BYTES + 12);
+    }
+
+    public String city(int entry) {
+        return cities[buffer.getInt(entriesOffset + entry * ENTRY_BYTES + 16)];
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public long sourceHash() {
+        return sourceHash;
+    }
+
+    public int sizeInBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 chars of the name.
+     */
+    static long hash(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /**
+     * 64-bit FNV-1a over the raw bytes of a source file.
+     */
+    public static long fingerprint(byte[] source) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : source) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    public record Place(String name, String city, double lat, double lon) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.transportoptimizer.util;
+
+/**
+ * Canonical form of free-text place names, used in cache keys
+ * ("  Rajiv Chowk, Delhi " and "rajiv chowk delhi" → same key).
+ */
+public final class PlaceKeys {
+
+    private PlaceKeys() {
+    }
+
+    /**
+     * lower-case letters/digits, any run of other chars → single space, trimmed
+     */
+    public static String normalize(String place) {
+        if (place == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(place.length());
+        boolean space = false;
+        for (int i = 0; i < place.length(); i++) {
+            char c = place.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(Character.toLowerCase(c));
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Canonical place/station ID, e.g. "delhi-ncr:rajiv-chowk".
+     */
+    public static String placeId(String city, String name) {
+        return city + ":" + normalize(name).replace(' ', '-');
+    }
+}
@@ -0,0 +1,168 @@
+package com.transportoptimizer.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Immutable prefix trie for autocomplete. Every node keeps its best K entries
+ * (precomputed at build time), so a lookup is one walk down the prefix plus
+ * copying at most K results — independent of how many places match.
+ * Keys are indexed at every word start ("rajiv chowk" is found by "raj" and "cho").
+ */
+public final class PlaceTrie<T> {
+
+    // node → sorted child labels / child node ids
+    private final char[][] labels;
+    private final int[][] children;
+
+    // node → entry ids, best first
+    private final int[][] top;
+
+    private final List<T> entries;
+
+    private PlaceTrie(char[][] labels, int[][] children, int[][] top, List<T> entries) {
+        this.labels = labels;
+        this.children = children;
+        this.top = top;
+        this.entries = entries;
+    }
+
+    public static <T> Builder<T> builder(int topK) {
+        return new Builder<>(topK);
+    }
+
+    /**
+     * Up to {@code limit} (≤ K) best entries whose key has a word starting with {@code prefix}.
+     * The prefix must already be normalized (see {@link PlaceKeys#normalize}).
+     */
+    public List<T> suggest(String prefix, int limit) {
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        int node = 0;
+        for (int i = 0; i < prefix.length() && node >= 0; i++) {
+            int idx = Arrays.binarySearch(labels[node], prefix.charAt(i));
+            node = idx < 0 ? -1 : children[node][idx];
+        }
+        if (node < 0) {
+            return List.of();
+        }
+
+        int[] best = top[node];
+        int n = Math.min(limit, best.length);
+        List<T> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(entries.get(best[i]));
+        }
+        return result;
+    }
+
+    public int nodeCount() {
+        return labels.length;
+    }
+
+    public static final class Builder<T> {
+
+        private final int topK;
+        private final List<T> entries = new ArrayList<>();
+        private final List<Double> scores = new ArrayList<>();
+        private final List<Integer> nameLengths = new ArrayList<>();
+
+        private final List<TreeMap<Character, Integer>> nodes = new ArrayList<>();
+        private final List<List<Integer>> candidates = new ArrayList<>();
+
+        private Builder(int topK) {
+            this.topK = Math.max(1, topK);
+            newNode();
+        }
+
+        /**
+         * Adds an entry once; {@code keys} are its normalized names (name first, then aliases).
+         * Higher score ranks first.
+         */
+        public Builder<T> add(T entry, double score, List<String> keys) {
+            int id = entries.size();
+            entries.add(entry);
+            scores.add(score);
+            nameLengths.add(keys.isEmpty() ? 0 : keys.get(0).length());
+
+            for (String key : keys) {
+                for (int start = 0; start < key.length(); start++) {
+                    if (start == 0 || key.charAt(start - 1) == ' ') {
+                        insert(key, start, id);
+                    }
+                }
+            }
+            return this;
+        }
+
+        private void insert(String key, int from, int id) {
+            int node = 0;
+            for (int i = from; i < key.length(); i++) {
+                Integer next = nodes.get(node).get(key.charAt(i));
+                if (next == null) {
+                    next = newNode();
+                    nodes.get(node).put(key.charAt(i), next);
+                }
+                node = next;
+                offer(node, id);
+            }
+        }
+
+        // keeps the K best distinct entries of a node
+        private void offer(int node, int id) {
+            List<Integer> list = candidates.get(node);
+            if (list.contains(id)) {
+                return;
+            }
+            int pos = list.size();
+            while (pos > 0 && better(id, list.get(pos - 1))) {
+                pos--;
+            }
+            if (pos < topK) {
+                list.add(pos, id);
+                if (list.size() > topK) {
+                    list.remove(list.size() - 1);
+                }
+            }
+        }
+
+        // higher score, then shorter name, then insertion order
+        private boolean better(int a, int b) {
+            int cmp = Double.compare(scores.get(a), scores.get(b));
+            if (cmp != 0) {
+                return cmp > 0;
+            }
+            return nameLengths.get(a) < nameLengths.get(b);
+        }
+
+        private int newNode() {
+            nodes.add(new TreeMap<>());
+            candidates.add(new ArrayList<>(2));
+            return nodes.size() - 1;
+        }
+
+        public PlaceTrie<T> build() {
+            int n = nodes.size();
+            char[][] labels = new char[n][];
+            int[][] children = new int[n][];
+            int[][] top = new int[n][];
+
+            for (int i = 0; i < n; i++) {
+                TreeMap<Character, Integer> edges = nodes.get(i);
+                labels[i] = new char[edges.size()];
+                children[i] = new int[edges.size()];
+                int j = 0;
+                for (var edge : edges.entrySet()) {
+                    labels[i][j] = edge.getKey();
+                    children[i][j] = edge.getValue();
+                    j++;
+                }
+                top[i] = candidates.get(i).stream().mapToInt(Integer::intValue).toArray();
+            }
+            return new PlaceTrie<>(labels, children, top, List.copyOf(entries));
+        }
+    }
+}
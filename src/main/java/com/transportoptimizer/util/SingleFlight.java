@@ -0,0 +1,124 @@
+package com.transportoptimizer.util;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with the same key: the first caller (leader)
+ * runs the loader, everyone arriving while it is in flight waits for the same result.
+ * Nothing is remembered once the call completes.
+ * Sync and async callers coalesce separately: a blocked sync follower must never
+ * wait on an async leader that needs a thread of the follower's own pool to finish.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> inFlightAsync = new ConcurrentHashMap<>();
+
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+    private final LongAdder followerTimeouts = new LongAdder();
+
+    public V execute(K key, Supplier<V> loader) {
+        return execute(key, 0, loader);
+    }
+
+    /**
+     * Followers wait at most {@code maxWaitMs} (0 = no limit) for the leader,
+     * then stop waiting and run the loader themselves.
+     */
+    public V execute(K key, long maxWaitMs, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+
+        if (existing != null) {
+            followers.increment();
+            try {
+                return maxWaitMs > 0 ? existing.get(maxWaitMs, TimeUnit.MILLISECONDS) : existing.join();
+            } catch (TimeoutException e) {
+                followerTimeouts.increment();
+                return loader.get();
+            } catch (CancellationException e) {
+                // leader abandoned the load (its caller went away) → ours is still wanted
+                return loader.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for " + key, e);
+            } catch (ExecutionException | CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : new CompletionException(e.getCause());
+            }
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Async flavour: the leader's future is shared, the map entry is dropped when it completes.
+     * Followers never block, so async callers only coalesce with each other.
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlightAsync.putIfAbsent(key, mine);
+
+        if (existing != null) {
+            followers.increment();
+            // copy → a follower cancelling its future can't cancel the leader
+            return existing.copy();
+        }
+
+        leaders.increment();
+        CompletableFuture<V> loading;
+        try {
+            loading = loader.get();
+        } catch (RuntimeException | Error e) {
+            loading = CompletableFuture.failedFuture(e);
+        }
+
+        loading.whenComplete((value, ex) -> {
+            inFlightAsync.remove(key, mine);
+            if (ex != null) {
+                mine.completeExceptionally(ex);
+            } else {
+                mine.complete(value);
+            }
+        });
+        return mine.copy();
+    }
+
+    public int inFlight() {
+        return inFlight.size() + inFlightAsync.size();
+    }
+
+    public long leaders() {
+        return leaders.sum();
+    }
+
+    public long followers() {
+        return followers.sum();
+    }
+
+    /**
+     * Sync followers that gave up waiting and loaded on their own.
+     */
+    public long followerTimeouts() {
+        return followerTimeouts.sum();
+    }
+}
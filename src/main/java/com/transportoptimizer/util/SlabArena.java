@@ -0,0 +1,130 @@
+package com.transportoptimizer.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Fixed-budget off-heap block allocator (memcached style).
+ * The budget is cut into equal direct-buffer slabs, handed out lazily to power-of-two
+ * size classes; each slab is split into blocks of its class. Freed blocks go back to
+ * their class's free list; slabs never change class.
+ * Not thread-safe: callers synchronize.
+ */
+public class SlabArena {
+
+    private final int slabBytes;
+    private final int minBlockShift;
+    private final ByteBuffer[] slabs;
+    private final int[] slabClass;
+    private int slabsAssigned;
+
+    // per size class: stack of free block handles
+    private final long[][] free;
+    private final int[] freeCount;
+
+    private long usedBytes;
+
+    public SlabArena(long budgetBytes, int slabBytes, int minBlockBytes, int maxBlockBytes) {
+        if (Integer.bitCount(minBlockBytes) != 1 || Integer.bitCount(maxBlockBytes) != 1
+                || minBlockBytes > maxBlockBytes || maxBlockBytes > slabBytes) {
+            throw new IllegalArgumentException("block sizes must be powers of two, min <= max <= slab");
+        }
+        this.slabBytes = slabBytes;
+        this.minBlockShift = Integer.numberOfTrailingZeros(minBlockBytes);
+
+        int slabCount = (int) Math.max(1, budgetBytes / slabBytes);
+        this.slabs = new ByteBuffer[slabCount];
+        this.slabClass = new int[slabCount];
+
+        int classes = Integer.numberOfTrailingZeros(maxBlockBytes) - minBlockShift + 1;
+        this.free = new long[classes][];
+        this.freeCount = new int[classes];
+        for (int c = 0; c < classes; c++) {
+            free[c] = new long[64];
+        }
+    }
+
+    /**
+     * Size class for a record of {@code length} bytes, -1 if it is larger than the biggest block.
+     */
+    public int sizeClass(int length) {
+        int shift = Math.max(minBlockShift, 32 - Integer.numberOfLeadingZeros(Math.max(1, length) - 1));
+        int c = shift - minBlockShift;
+        return c < free.length ? c : -1;
+    }
+
+    public int blockSize(int sizeClass) {
+        return 1 << (minBlockShift + sizeClass);
+    }
+
+    /**
+     * Block handle of the given class, or -1 when the class is full and no slab is left.
+     */
+    public long allocate(int sizeClass) {
+        if (freeCount[sizeClass] == 0 && !assignSlab(sizeClass)) {
+            return -1;
+        }
+        usedBytes += blockSize(sizeClass);
+        return free[sizeClass][--freeCount[sizeClass]];
+    }
+
+    public void free(long handle) {
+        int c = slabClass[slab(handle)];
+        if (freeCount[c] == free[c].length) {
+            free[c] = Arrays.copyOf(free[c], free[c].length * 2);
+        }
+        free[c][freeCount[c]++] = handle;
+        usedBytes -= blockSize(c);
+    }
+
+    public void write(long handle, byte[] src, int length) {
+        slabs[slab(handle)].put(offset(handle), src, 0, length);
+    }
+
+    public byte[] read(long handle, int length) {
+        byte[] dst = new byte[length];
+        slabs[slab(handle)].get(offset(handle), dst, 0, length);
+        return dst;
+    }
+
+    // bytes in handed-out blocks (including their unused tails)
+    public long usedBytes() {
+        return usedBytes;
+    }
+
+    public long reservedBytes() {
+        return (long) slabsAssigned * slabBytes;
+    }
+
+    public long capacityBytes() {
+        return (long) slabs.length * slabBytes;
+    }
+
+    private boolean assignSlab(int sizeClass) {
+        if (slabsAssigned == slabs.length) {
+            return false;
+        }
+        int s = slabsAssigned++;
+        slabs[s] = ByteBuffer.allocateDirect(slabBytes);
+        slabClass[s] = sizeClass;
+
+        int block = blockSize(sizeClass);
+        int blocks = slabBytes / block;
+        if (free[sizeClass].length < freeCount[sizeClass] + blocks) {
+            free[sizeClass] = Arrays.copyOf(free[sizeClass], freeCount[sizeClass] + blocks);
+        }
+        // pushed in reverse → handed out in address order
+        for (int i = blocks - 1; i >= 0; i--) {
+            free[sizeClass][freeCount[sizeClass]++] = ((long) s << 32) | ((long) i * block);
+        }
+        return true;
+    }
+
+    private static int slab(long handle) {
+        return (int) (handle >>> 32);
+    }
+
+    private static int offset(long handle) {
+        return (int) handle;
+    }
+}
@@ -0,0 +1,54 @@
+package com.transportoptimizer.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only string ↔ int code table for compact encodings (provider ids, vehicle types, places).
+ * Bounded: once full, {@link #codeOf} returns -1 and callers store the string inline.
+ * Codes are never reused, so encoded records stay valid for the dictionary's lifetime.
+ */
+public class StringDictionary {
+
+    private final int maxSize;
+    private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] strings = new String[64];
+    private int size;
+
+    public StringDictionary(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    // existing or new code, -1 when full
+    public int codeOf(String s) {
+        Integer code = codes.get(s);
+        if (code != null) {
+            return code;
+        }
+        synchronized (this) {
+            code = codes.get(s);
+            if (code != null) {
+                return code;
+            }
+            if (size == maxSize) {
+                return -1;
+            }
+            if (size == strings.length) {
+                strings = Arrays.copyOf(strings, Math.min(maxSize, size * 2));
+            }
+            // publish the string before the code can be read
+            strings[size] = s;
+            strings = strings;
+            codes.put(s, size);
+            return size++;
+        }
+    }
+
+    public String get(int code) {
+        return strings[code];
+    }
+
+    public int size() {
+        return codes.size();
+    }
+}
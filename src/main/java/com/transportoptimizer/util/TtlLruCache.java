@@ -0,0 +1,146 @@
+package com.transportoptimizer.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Small bounded in-process cache: LRU order + per-entry expiry.
+ * Eviction is amortized on put (size) and get (expiry);
+ * {@link #purgeExpired()} can be called from a background sweep.
+ * An optional weigher keeps a running total (e.g. estimated bytes) of the live entries.
+ */
+public class TtlLruCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> map;
+    private final ToLongFunction<? super V> weigher;
+    private long weight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public TtlLruCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, null);
+    }
+
+    public TtlLruCache(int maxSize, long ttlMillis, ToLongFunction<? super V> weigher) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be > 0");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.weigher = weigher;
+        this.map = new LinkedHashMap<>(Math.min(maxSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > TtlLruCache.this.maxSize) {
+                    weight -= eldest.getValue().weight;
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            map.remove(key);
+            weight -= entry.weight;
+            expirations.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, ttlMillis);
+    }
+
+    public synchronized void put(K key, V value, long ttlMillis) {
+        if (ttlMillis <= 0) {
+            return;
+        }
+        long w = weigher == null ? 0 : weigher.applyAsLong(value);
+        weight += w;
+        Entry<V> previous = map.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis, w));
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+    }
+
+    public synchronized V remove(K key) {
+        Entry<V> entry = map.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        weight -= entry.weight;
+        return entry.value;
+    }
+
+    /**
+     * Drops every expired entry; returns how many were removed.
+     */
+    public synchronized int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        Iterator<Entry<V>> it = map.values().iterator();
+        while (it.hasNext()) {
+            Entry<V> entry = it.next();
+            if (entry.expiresAt <= now) {
+                it.remove();
+                weight -= entry.weight;
+                removed++;
+            }
+        }
+        expirations.add(removed);
+        return removed;
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    /**
+     * Sum of the weigher over live entries (0 without a weigher).
+     */
+    public synchronized long weight() {
+        return weight;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public long expirations() {
+        return expirations.sum();
+    }
+
+    private record Entry<V>(V value, long expiresAt, long weight) {
+    }
+}
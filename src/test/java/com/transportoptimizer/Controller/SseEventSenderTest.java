@@ -0,0 +1,108 @@
+package com.transportoptimizer.Controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SseEventSenderTest {
+
+    private final ExecutorService senders = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        senders.shutdownNow();
+    }
+
+    @Test
+    void writesEventsInOrderOffTheCallerThread() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(0);
+        SseEventSender sender = new SseEventSender(emitter, senders, 16);
+
+        for (int i = 0; i < 5; i++) {
+            sender.send("fares", i);
+        }
+        sender.complete();
+
+        assertTrue(emitter.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(5, emitter.sent.get());
+        assertFalse(emitter.writerThreads.contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    void slowClientNeverBlocksTheCallerAndIsDropped() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(200);
+        SseEventSender sender = new SseEventSender(emitter, senders, 4);
+        AtomicInteger closes = new AtomicInteger();
+        sender.onClose(closes::incrementAndGet);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            sender.send("fares", i);
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 150);
+
+        assertTrue(sender.isClosed());
+        assertEquals(1, closes.get());
+        assertTrue(emitter.completed.await(5, TimeUnit.SECONDS));
+        // only what was already being written got out
+        assertTrue(emitter.sent.get() <= 1, "sent " + emitter.sent.get());
+    }
+
+    @Test
+    void failedWriteClosesTheStream() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(0);
+        emitter.failing = true;
+        SseEventSender sender = new SseEventSender(emitter, senders, 16);
+        CountDownLatch closed = new CountDownLatch(1);
+        sender.onClose(closed::countDown);
+
+        sender.send("fares", 1);
+
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+        assertTrue(sender.isClosed());
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final long writeMs;
+        private final AtomicInteger sent = new AtomicInteger();
+        private final List<String> writerThreads = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile boolean failing;
+
+        RecordingEmitter(long writeMs) {
+            this.writeMs = writeMs;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            writerThreads.add(Thread.currentThread().getName());
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            try {
+                Thread.sleep(writeMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sent.incrementAndGet();
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.transportoptimizer.Services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DistanceMatrixBatcherTest {
+
+    // same as the callers' get() below
+    private static final long WAIT_MS = 2_000;
+
+    private StubDistanceMatrixServer stub;
+    private DistanceMatrixBatcher batcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubDistanceMatrixServer(50);
+        batcher = new DistanceMatrixBatcher(new OkHttpClient(), new SimpleMeterRegistry(), stub.url(), "test-key",
+                20, 25, 25, 100, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+        stub.close();
+    }
+
+    @Test
+    void concurrentLookupsShareOneMatrixRequest() throws Exception {
+        List<CompletableFuture<Double>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(batcher.submit("Origin " + (i % 2), "Destination " + i, WAIT_MS));
+        }
+
+        for (int i = 0; i < 10; i++) {
+            double expected = StubDistanceMatrixServer.meters("Origin " + (i % 2), "Destination " + i) / 1000.0;
+            assertEquals(expected, results.get(i).get(2, TimeUnit.SECONDS));
+        }
+        assertEquals(1, stub.requests.size());
+        assertEquals(2, stub.requests.get(0)[0]);
+        assertEquals(10, stub.requests.get(0)[1]);
+    }
+
+    @Test
+    void batchIsSplitAtApiLimits() throws Exception {
+        // 30 distinct origins → more than 25 per request is not allowed
+        List<CompletableFuture<Double>> results = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            results.add(batcher.submit("Origin " + i, "Destination", WAIT_MS));
+        }
+        for (CompletableFuture<Double> result : results) {
+            assertTrue(result.get(2, TimeUnit.SECONDS) > 0);
+        }
+
+        assertEquals(2, stub.requests.size());
+        for (int[] matrix : stub.requests) {
+            assertTrue(matrix[0] <= 25 && matrix[0] * matrix[1] <= 100);
+        }
+    }
+
+    @Test
+    void unrelatedPairsAreNotCrossBilled() throws Exception {
+        // every lookup has its own origin and destination → a full cross would bill 20x20
+        List<CompletableFuture<Double>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(batcher.submit("Origin " + i, "Destination " + i, WAIT_MS));
+        }
+        for (int i = 0; i < 20; i++) {
+            double expected = StubDistanceMatrixServer.meters("Origin " + i, "Destination " + i) / 1000.0;
+            assertEquals(expected, results.get(i).get(2, TimeUnit.SECONDS));
+        }
+
+        int billed = 0;
+        for (int[] matrix : stub.requests) {
+            billed += matrix[0] * matrix[1];
+        }
+        assertTrue(billed <= 2 * results.size(), "billed " + billed + " elements for " + results.size() + " lookups");
+    }
+
+    @Test
+    void batchWhoseCallersAllGaveUpIsNotSent() throws Exception {
+        // 5 ms deadline < 20 ms batching window
+        CompletableFuture<Double> late = batcher.submit("Delhi", "Noida", 5);
+
+        assertNull(late.get(2, TimeUnit.SECONDS));
+        assertTrue(stub.requests.isEmpty());
+    }
+
+    @Test
+    void failedElementOnlyAffectsItsCaller() throws Exception {
+        CompletableFuture<Double> ok = batcher.submit("Delhi", "Noida", WAIT_MS);
+        CompletableFuture<Double> missing = batcher.submit("Delhi", "nowhere", WAIT_MS);
+
+        assertEquals(StubDistanceMatrixServer.meters("Delhi", "Noida") / 1000.0, ok.get(2, TimeUnit.SECONDS));
+        assertNull(missing.get(2, TimeUnit.SECONDS));
+        assertEquals(1, stub.requests.size());
+    }
+
+    @Test
+    void batchedLatencyStaysCloseToSingleCall() throws Exception {
+        long start = System.nanoTime();
+        List<CompletableFuture<Double>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            // 5 origins × 10 destinations, every cell asked for
+            results.add(batcher.submit("Origin " + (i / 10), "Destination " + (i % 10), WAIT_MS));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).get(2, TimeUnit.SECONDS);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 50 sequential calls would take 50 * 50ms; one batch ≈ window + one round trip
+        assertEquals(1, stub.requests.size());
+        assertTrue(elapsedMs < 1000, "batched lookups took " + elapsedMs + " ms");
+    }
+}
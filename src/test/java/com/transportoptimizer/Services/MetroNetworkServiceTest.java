@@ -0,0 +1,68 @@
+package com.transportoptimizer.Services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetroNetworkServiceTest {
+
+    private MetroNetworkService network;
+
+    @BeforeEach
+    void setUp() {
+        network = new MetroNetworkService(new MetroCoverageService());
+        ReflectionTestUtils.setField(network, "networkFile", new ClassPathResource("metro/network.txt"));
+        network.load();
+    }
+
+    @Test
+    void routeAcrossLinesUsesChainagesAndFareSlab() {
+        // red: dilshad garden 23.4 → kashmere gate 15.6, yellow: kashmere gate 2.6 → aiims 13.2
+        MetroNetworkService.MetroRoute route = network.route("Dilshad Garden", "AIIMS").orElseThrow();
+
+        assertEquals("delhi-ncr", route.city());
+        assertEquals("dilshad garden", route.fromStation());
+        assertEquals("aiims", route.toStation());
+        assertEquals(18.4, route.km(), 1e-6);
+        assertEquals(1, route.interchanges());
+        // 12 < 18.4 km ≤ 21 → 43 INR slab
+        assertEquals(43.0, route.fare(), 1e-6);
+    }
+
+    @Test
+    void sameLineRouteHasNoInterchange() {
+        MetroNetworkService.MetroRoute route = network.route("Rajiv Chowk", "Hauz Khas").orElseThrow();
+
+        assertEquals(0, route.interchanges());
+        assertEquals(9.5, route.km(), 1e-6);
+        assertEquals(32.0, route.fare(), 1e-6);
+    }
+
+    @Test
+    void everyGraphStationCanBeAnEndpoint() {
+        // neither is a coverage keyword, both are blue line stations
+        MetroNetworkService.MetroRoute route = network.route("Dwarka", "Noida Sector 18").orElseThrow();
+
+        assertEquals("dwarka", route.fromStation());
+        assertEquals("noida sector 18", route.toStation());
+        assertEquals(0, route.interchanges());
+        assertEquals(35.5, route.km(), 1e-6);
+        // > 32 km → top slab
+        assertEquals(64.0, route.fare(), 1e-6);
+    }
+
+    @Test
+    void stationNamesMatchWholeWordsOnly() {
+        // "ina" is a station, "Marina" is not
+        assertTrue(network.route("Marina Beach", "Rajiv Chowk").isEmpty());
+    }
+
+    @Test
+    void noRouteBetweenCities() {
+        assertTrue(network.route("Rajiv Chowk", "Andheri").isEmpty());
+    }
+}
@@ -0,0 +1,48 @@
+package com.transportoptimizer.Services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlaceSuggestServiceTest {
+
+    private final MetroCoverageService coverage = new MetroCoverageService();
+    private PlaceSuggestService places;
+
+    @BeforeEach
+    void setUp() {
+        GazetteerService gazetteer = new GazetteerService();
+        ReflectionTestUtils.setField(gazetteer, "gazetteerFile", new ClassPathResource("gazetteer/places.csv"));
+        gazetteer.load();
+
+        MetroNetworkService network = new MetroNetworkService(coverage);
+        ReflectionTestUtils.setField(network, "networkFile", new ClassPathResource("metro/network.txt"));
+        network.load();
+
+        // popularity is only read on refresh → no Mongo needed
+        places = new PlaceSuggestService(gazetteer, network, null, 10);
+    }
+
+    @Test
+    void canonicalTextIsTheBarePlaceName() {
+        assertEquals("Rajiv Chowk", places.canonicalText("delhi-ncr:rajiv-chowk"));
+        assertEquals("Gurugram", places.canonicalText("delhi-ncr:gurugram"));
+        assertEquals("somewhere else", places.canonicalText("somewhere else"));
+    }
+
+    @Test
+    void canonicalPlacesWithoutStationsAreNotMetroEligible() {
+        String origin = places.canonicalText("delhi-ncr:gurugram");
+        String destination = places.canonicalText("delhi-ncr:faridabad");
+
+        assertFalse(coverage.isMetroRoute(origin, destination));
+        assertTrue(coverage.isMetroRoute(
+                places.canonicalText("delhi-ncr:rajiv-chowk"),
+                places.canonicalText("delhi-ncr:hauz-khas")));
+    }
+}
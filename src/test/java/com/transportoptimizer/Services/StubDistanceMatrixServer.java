@@ -0,0 +1,97 @@
+package com.transportoptimizer.Services;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for the Distance Matrix API.
+ * Distances are deterministic ({@link #meters}); destinations named "nowhere"
+ * come back as NOT_FOUND. Every request's matrix size is recorded.
+ */
+class StubDistanceMatrixServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final long latencyMs;
+
+    // [origins, destinations] of every request received
+    final List<int[]> requests = new CopyOnWriteArrayList<>();
+
+    StubDistanceMatrixServer(long latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/maps/api/distancematrix/json", this::handle);
+        this.server.setExecutor(Executors.newCachedThreadPool());
+        this.server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/maps/api/distancematrix/json";
+    }
+
+    static long meters(String origin, String destination) {
+        return 1000 + Math.floorMod((origin + "->" + destination).hashCode(), 50_000);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parse(exchange.getRequestURI().getRawQuery());
+        String[] origins = query.getOrDefault("origins", "").split("\\|");
+        String[] destinations = query.getOrDefault("destinations", "").split("\\|");
+        requests.add(new int[]{origins.length, destinations.length});
+
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<String> rows = new ArrayList<>();
+        for (String origin : origins) {
+            List<String> elements = new ArrayList<>();
+            for (String destination : destinations) {
+                elements.add("nowhere".equals(destination)
+                        ? "{\"status\":\"NOT_FOUND\"}"
+                        : "{\"status\":\"OK\",\"distance\":{\"value\":" + meters(origin, destination) + "}}");
+            }
+            rows.add("{\"elements\":[" + String.join(",", elements) + "]}");
+        }
+        byte[] body = ("{\"status\":\"OK\",\"rows\":[" + String.join(",", rows) + "]}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> parse(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(pair.substring(0, eq),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,86 @@
+package com.transportoptimizer.Services.snapshot;
+
+import com.transportoptimizer.entity.FareEstimate;
+import com.transportoptimizer.entity.ProviderFare;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.transportoptimizer.Services.snapshot.SnapshotFixtures.estimate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArenaSnapshotBackendTest {
+
+    @Test
+    void keepsWhatChooseNeeds() {
+        ArenaSnapshotBackend backend = backend(1);
+        FareEstimate original = estimate(3, 8);
+
+        backend.save("s1", original);
+        FareEstimate stored = backend.get("s1");
+
+        assertEquals(original.getOrigin(), stored.getOrigin());
+        assertEquals(original.getDestination(), stored.getDestination());
+        assertEquals(original.getTimestamp(), stored.getTimestamp());
+        assertEquals(original.getTimedOutProviders(), stored.getTimedOutProviders());
+        assertEquals(8, stored.getProviderFares().size());
+        for (int i = 0; i < 8; i++) {
+            ProviderFare expected = original.getProviderFares().get(i);
+            ProviderFare actual = stored.getProviderFares().get(i);
+            assertEquals(expected.getProviderId(), actual.getProviderId());
+            assertEquals(expected.getProviderName(), actual.getProviderName());
+            assertEquals(expected.getVehicleType(), actual.getVehicleType());
+            assertEquals(expected.getPrice(), actual.getPrice());
+            assertEquals(expected.getEtaMinutes(), actual.getEtaMinutes());
+            assertEquals(expected.isSurge(), actual.isSurge());
+            assertEquals(expected.getDistanceKm(), actual.getDistanceKm(), 1e-5);
+            assertEquals(expected.getCo2EmissionKg(), actual.getCo2EmissionKg(), 1e-5);
+        }
+        assertEquals(original.ranking().getMaxPrice(), stored.ranking().getMaxPrice());
+
+        backend.remove("s1");
+        assertNull(backend.get("s1"));
+        assertEquals(0, backend.usedBytes());
+    }
+
+    @Test
+    void oldestSnapshotsAreEvictedAtTheBudget() {
+        // 1 MB budget, 64 KB slabs
+        ArenaSnapshotBackend backend = backend(1);
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            String id = UUID.randomUUID().toString();
+            ids.add(id);
+            backend.save(id, estimate(i, 8));
+        }
+
+        assertTrue(backend.live() < 20_000);
+        assertTrue(backend.usedBytes() <= 1 << 20);
+        assertNull(backend.get(ids.get(0)));
+        assertNotNull(backend.get(ids.get(ids.size() - 1)));
+    }
+
+    @Test
+    void hundredsOfThousandsFitInASmallBudget() {
+        // ~560 B per record: five metadata entries on every fare → 1 KB slots
+        ArenaSnapshotBackend backend = backend(256);
+
+        for (int i = 0; i < 200_000; i++) {
+            backend.save(UUID.randomUUID().toString(), estimate(i, 8));
+        }
+
+        assertEquals(200_000, backend.live());
+        assertTrue(backend.reservedBytes() <= 256L << 20);
+    }
+
+    private static ArenaSnapshotBackend backend(long budgetMb) {
+        return new ArenaSnapshotBackend(new SimpleMeterRegistry(), budgetMb, 64, 1024, 30);
+    }
+}
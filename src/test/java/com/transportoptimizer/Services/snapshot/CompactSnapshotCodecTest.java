@@ -0,0 +1,63 @@
+package com.transportoptimizer.Services.snapshot;
+
+import com.transportoptimizer.entity.FareEstimate;
+import com.transportoptimizer.entity.ProviderFare;
+import com.transportoptimizer.util.StringDictionary;
+import org.junit.jupiter.api.Test;
+
+import static com.transportoptimizer.Services.snapshot.SnapshotFixtures.estimate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompactSnapshotCodecTest {
+
+    @Test
+    void keepsEverythingFareHistoryPersists() {
+        assertSameHistory(new CompactSnapshotCodec(new StringDictionary(1024)));
+    }
+
+    @Test
+    void selfContainedRecordsKeepItToo() {
+        // token mode: no dictionary, every string inline
+        assertSameHistory(new CompactSnapshotCodec(null));
+    }
+
+    /**
+     * /choose saves the decoded estimate and the chosen fare → must match the full codec,
+     * apart from money rounded to paise and the rest to float precision.
+     */
+    private static void assertSameHistory(CompactSnapshotCodec codec) {
+        FareEstimate original = estimate(7, 8);
+        FareEstimate full = SnapshotCodec.decode(SnapshotCodec.encode(original));
+        FareEstimate compact = codec.decode(codec.encode(original));
+
+        assertEquals(full.getEstimateId(), compact.getEstimateId());
+        assertEquals(full.getOrigin(), compact.getOrigin());
+        assertEquals(full.getDestination(), compact.getDestination());
+        assertEquals(full.getTimestamp(), compact.getTimestamp());
+        assertEquals(full.getTimedOutProviders(), compact.getTimedOutProviders());
+        assertEquals(full.getTotalDistanceKm(), compact.getTotalDistanceKm(), 1e-5);
+        assertEquals(full.getProviderFares().size(), compact.getProviderFares().size());
+
+        for (int i = 0; i < full.getProviderFares().size(); i++) {
+            ProviderFare expected = full.getProviderFares().get(i);
+            ProviderFare actual = compact.getProviderFares().get(i);
+            assertEquals(expected.getProviderId(), actual.getProviderId());
+            assertEquals(expected.getProviderName(), actual.getProviderName());
+            assertEquals(expected.getVehicleType(), actual.getVehicleType());
+            assertEquals(expected.getCurrency(), actual.getCurrency());
+            assertEquals(expected.getProductName(), actual.getProductName());
+            assertEquals(expected.getPrice(), actual.getPrice());
+            assertEquals(expected.getEtaMinutes(), actual.getEtaMinutes());
+            assertEquals(expected.isSurge(), actual.isSurge());
+            assertEquals(expected.isNormalized(), actual.isNormalized());
+            assertEquals(expected.getBaseFare(), actual.getBaseFare());
+            assertEquals(expected.getDistanceFare(), actual.getDistanceFare());
+            assertEquals(expected.getRatePerKm(), actual.getRatePerKm(), 1e-5);
+            assertEquals(expected.getDistanceKm(), actual.getDistanceKm(), 1e-5);
+            assertEquals(expected.getSurgeFactor(), actual.getSurgeFactor(), 1e-5);
+            assertEquals(expected.getCo2EmissionKg(), actual.getCo2EmissionKg(), 1e-5);
+            assertEquals(expected.getCo2SavedKg(), actual.getCo2SavedKg(), 1e-5);
+            assertEquals(expected.getMetadata(), actual.getMetadata());
+        }
+    }
+}
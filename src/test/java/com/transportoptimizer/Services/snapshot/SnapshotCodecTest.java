@@ -0,0 +1,53 @@
+package com.transportoptimizer.Services.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.transportoptimizer.entity.FareEstimate;
+import com.transportoptimizer.entity.ProviderFare;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.transportoptimizer.Services.snapshot.SnapshotFixtures.estimate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotCodecTest {
+
+    @Test
+    void roundTripKeepsEveryField() {
+        FareEstimate original = estimate();
+
+        FareEstimate decoded = SnapshotCodec.decode(SnapshotCodec.encode(original));
+
+        // ranking is rebuilt on demand, not stored (nor part of equals)
+        original.ranking();
+        assertEquals(original, decoded);
+        assertEquals(original.ranking().getMaxPrice(), decoded.ranking().getMaxPrice());
+    }
+
+    @Test
+    void nullsSurvive() {
+        FareEstimate original = new FareEstimate();
+        original.setProviderFares(List.of(new ProviderFare()));
+
+        FareEstimate decoded = SnapshotCodec.decode(SnapshotCodec.encode(original));
+
+        assertEquals(original, decoded);
+        assertNull(decoded.getTimestamp());
+        assertNull(decoded.getTimedOutProviders());
+        assertNull(decoded.getProviderFares().get(0).getMetadata());
+    }
+
+    @Test
+    void smallerThanJson() throws Exception {
+        FareEstimate estimate = estimate();
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        int binary = SnapshotCodec.encode(estimate).length;
+        int json = mapper.writeValueAsBytes(estimate).length;
+
+        assertTrue(binary * 2 < json, "binary " + binary + " B vs json " + json + " B");
+    }
+}
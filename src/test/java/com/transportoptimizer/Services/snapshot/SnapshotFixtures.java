@@ -0,0 +1,88 @@
+package com.transportoptimizer.Services.snapshot;
+
+import com.transportoptimizer.entity.FareEstimate;
+import com.transportoptimizer.entity.ProviderFare;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compare results shared by the snapshot codec / backend tests.
+ * Every field is set, so full codecs can be checked for equality and
+ * compact ones for the subset they keep.
+ */
+final class SnapshotFixtures {
+
+    private static final int MAX_FARES = 16;
+
+    // built once → hundreds of thousands of fixtures don't allocate a map per fare
+    private static final List<Map<String, Object>> METADATA = new ArrayList<>();
+
+    static {
+        for (int i = 0; i < MAX_FARES; i++) {
+            Map<String, Object> metadata = new LinkedHashMap<>();
+            metadata.put("source", "mock");
+            metadata.put("interchanges", i);
+            metadata.put("metroKm", 12.5 + i);
+            metadata.put("night", i % 2 == 0);
+            metadata.put("requestedAt", 1_700_000_000_000L + i);
+            METADATA.add(Collections.unmodifiableMap(metadata));
+        }
+    }
+
+    private SnapshotFixtures() {
+    }
+
+    static FareEstimate estimate() {
+        return estimate(1, 8);
+    }
+
+    /**
+     * Fares "Provider0".."Provider{n-1}"; prices vary with {@code seed}, places repeat every few hundred seeds.
+     */
+    static FareEstimate estimate(int seed, int fareCount) {
+        if (fareCount > MAX_FARES) {
+            throw new IllegalArgumentException("at most " + MAX_FARES + " fares");
+        }
+
+        List<ProviderFare> fares = new ArrayList<>(fareCount);
+        for (int i = 0; i < fareCount; i++) {
+            fares.add(ProviderFare.builder()
+                    .providerId("Provider" + i)
+                    .providerName("Provider " + i)
+                    .vehicleType(i % 2 == 0 ? "cab" : "auto")
+                    // non-ASCII → UTF-8 paths
+                    .productName("Product ₹" + i)
+                    .currency("INR")
+                    // whole paise → survives the compact codec exactly
+                    .price(Math.round((80 + (seed % 97) + i * 13.37) * 100) / 100.0)
+                    .distanceKm(12.3)
+                    // -1 for the first fare → signed varints
+                    .etaMinutes(i - 1)
+                    .isSurge(i % 3 == 0)
+                    .baseFare(40)
+                    .ratePerKm(9.5)
+                    .distanceFare(116.85)
+                    .surgeFactor(1.2)
+                    .co2EmissionKg(0.2 * i)
+                    .co2SavedKg(0.4)
+                    .normalized(true)
+                    .metadata(METADATA.get(i))
+                    .build());
+        }
+
+        return FareEstimate.builder()
+                .estimateId("est-" + seed)
+                .origin("Andheri West " + (seed % 500) + ", Mumbai")
+                .destination("Bandra Kurla Complex " + (seed % 333))
+                .totalDistanceKm(12.3)
+                .providerFares(fares)
+                .timestamp(Instant.ofEpochMilli(1_700_000_000_000L + seed))
+                .timedOutProviders(List.of("Slowpoke"))
+                .build();
+    }
+}
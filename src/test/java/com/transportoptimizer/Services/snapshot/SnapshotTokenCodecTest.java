@@ -0,0 +1,74 @@
+package com.transportoptimizer.Services.snapshot;
+
+import com.transportoptimizer.entity.FareEstimate;
+import com.transportoptimizer.entity.ProviderFare;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static com.transportoptimizer.Services.snapshot.SnapshotFixtures.estimate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotTokenCodecTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    @Test
+    void tokenCarriesWhatChooseNeeds() {
+        SnapshotTokenCodec codec = new SnapshotTokenCodec(SECRET, 1800);
+        FareEstimate original = estimate();
+
+        String token = codec.issue(original);
+        FareEstimate decoded = codec.verify(token);
+
+        assertNotNull(decoded);
+        assertEquals(original.getOrigin(), decoded.getOrigin());
+        assertEquals(original.getDestination(), decoded.getDestination());
+        ProviderFare chosen = decoded.ranking().byProviderId("Provider3");
+        assertEquals(original.getProviderFares().get(3).getPrice(), chosen.getPrice());
+        assertEquals(original.getProviderFares().get(3).getCo2EmissionKg(), chosen.getCo2EmissionKg(), 1e-5);
+        assertEquals(original.ranking().getMaxPrice(), decoded.ranking().getMaxPrice());
+
+        // URL/JSON safe and compact enough for a request body
+        assertTrue(token.matches("[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]+"));
+        assertTrue(token.length() < 1024, "token is " + token.length() + " chars");
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        SnapshotTokenCodec codec = new SnapshotTokenCodec(SECRET, 1800);
+        String token = codec.issue(estimate());
+
+        byte[] payload = Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.')));
+        payload[payload.length - 1] ^= 1;
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(payload)
+                + token.substring(token.indexOf('.'));
+
+        assertNull(codec.verify(tampered));
+        assertNull(codec.verify("garbage"));
+        assertNull(codec.verify("!!!.???"));
+    }
+
+    @Test
+    void otherSecretIsRejected() {
+        String token = new SnapshotTokenCodec(SECRET, 1800).issue(estimate());
+
+        assertNull(new SnapshotTokenCodec(SECRET.replace('0', 'x'), 1800).verify(token));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        SnapshotTokenCodec codec = new SnapshotTokenCodec(SECRET, -1);
+
+        assertNull(codec.verify(codec.issue(estimate())));
+    }
+
+    @Test
+    void shortSecretIsRefused() {
+        assertThrows(IllegalStateException.class, () -> new SnapshotTokenCodec("short", 1800));
+    }
+}
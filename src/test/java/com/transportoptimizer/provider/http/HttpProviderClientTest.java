@@ -0,0 +1,222 @@
+package com.transportoptimizer.provider.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.transportoptimizer.entity.ProviderFare;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpProviderClientTest {
+
+    // nested fares array, nested price, unmapped objects/arrays/nulls around the mapped fields
+    private static final String RESPONSE = """
+            {"meta":{"request":"x","tags":["a","b"]},
+             "data":{"count":2,"estimates":[
+               {"category":"cab","display":"Go","fare":{"amount":"212.5","breakdown":[1,2]},"pickup_eta":4.4,"promo":null},
+               {"category":"auto","display":"Auto","fare":{"amount":98},"pickup_eta":7,"is_surge":true,"surge_factor":1.4},
+               42
+             ]},
+             "trailer":{"fares":[]}}
+            """;
+
+    private HttpServer server;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicReference<String> lastQuery = new AtomicReference<>();
+    private volatile long latencyMs;
+    private volatile int status = 200;
+    private volatile String response = RESPONSE;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/estimates", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void streamsMappedFieldsIntoFares() {
+        HttpProviderClient client = new HttpProviderClient(endpoint(4, 1000), new OkHttpClient());
+
+        List<ProviderFare> fares = client.getFaresBatch("Andheri West", "Bandra", 12.5, null);
+
+        assertEquals(2, fares.size());
+        ProviderFare go = fares.get(0);
+        assertEquals("Acme : cab", go.getProviderId());
+        assertEquals("cab", go.getVehicleType());
+        assertEquals("Go", go.getProductName());
+        assertEquals(212.5, go.getPrice());
+        assertEquals(4, go.getEtaMinutes());
+        assertEquals(12.5, go.getDistanceKm());
+        assertEquals("INR", go.getCurrency());
+        assertFalse(go.isSurge());
+        assertEquals(1.0, go.getSurgeFactor());
+
+        ProviderFare auto = fares.get(1);
+        assertEquals("Acme : auto", auto.getProviderId());
+        assertEquals(98.0, auto.getPrice());
+        assertTrue(auto.isSurge());
+        assertEquals(1.4, auto.getSurgeFactor());
+
+        assertEquals("from=Andheri+West&to=Bandra&km=12.5", lastQuery.get());
+    }
+
+    @Test
+    void repeatedOrMissingVehicleTypesGetDistinctIds() {
+        response = """
+                {"data":{"estimates":[
+                  {"category":"cab","display":"Go","fare":{"amount":150}},
+                  {"category":"cab","display":"Premier","fare":{"amount":240}},
+                  {"display":"Shuttle","fare":{"amount":60}},
+                  {"fare":{"amount":70}},
+                  {"fare":{"amount":80}}
+                ]}}
+                """;
+        HttpProviderClient client = new HttpProviderClient(endpoint(4, 1000), new OkHttpClient());
+
+        List<ProviderFare> fares = client.getFaresBatch("A", "B", 5, null);
+
+        assertEquals(List.of("Acme : cab", "Acme : cab 2", "Acme : Shuttle", "Acme : fare", "Acme : fare 2"),
+                fares.stream().map(ProviderFare::getProviderId).toList());
+    }
+
+    @Test
+    void concurrencyIsCappedPerProvider() throws Exception {
+        latencyMs = 100;
+        HttpProviderClient client = new HttpProviderClient(endpoint(2, 5000), new OkHttpClient());
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<List<ProviderFare>>> calls = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                calls.add(CompletableFuture.supplyAsync(() -> client.getFaresBatch("A", "B", 5, null), callers));
+            }
+            for (CompletableFuture<List<ProviderFare>> call : calls) {
+                assertEquals(2, call.get(5, TimeUnit.SECONDS).size());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertTrue(maxInFlight.get() <= 2, "max in flight was " + maxInFlight.get());
+    }
+
+    @Test
+    void saturatedProviderFailsFast() throws Exception {
+        latencyMs = 500;
+        HttpProviderClient client = new HttpProviderClient(endpoint(1, 20), new OkHttpClient());
+
+        CompletableFuture<List<ProviderFare>> first = CompletableFuture.supplyAsync(
+                () -> client.getFaresBatch("A", "B", 5, null));
+        while (inFlight.get() == 0) {
+            Thread.sleep(5);
+        }
+
+        long start = System.nanoTime();
+        assertThrows(IllegalStateException.class, () -> client.getFaresBatch("A", "C", 5, null));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 400);
+        assertEquals(2, first.get(5, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    void interruptedCallerCancelsTheCallAndFreesThePermit() throws Exception {
+        latencyMs = 2_000;
+        HttpProviderClient client = new HttpProviderClient(endpoint(1, 20), new OkHttpClient());
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread caller = new Thread(() -> {
+            try {
+                client.getFaresBatch("A", "B", 5, null);
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        caller.start();
+        while (inFlight.get() == 0) {
+            Thread.sleep(5);
+        }
+
+        long start = System.nanoTime();
+        caller.interrupt();
+        caller.join(1_000);
+        assertFalse(caller.isAlive());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+        assertTrue(failure.get() instanceof IllegalStateException, String.valueOf(failure.get()));
+
+        // permit is back → the next call is not rejected as saturated
+        latencyMs = 0;
+        assertEquals(2, client.getFaresBatch("A", "C", 5, null).size());
+    }
+
+    @Test
+    void errorStatusIsAFailure() {
+        status = 503;
+        HttpProviderClient client = new HttpProviderClient(endpoint(4, 1000), new OkHttpClient());
+
+        assertThrows(IllegalStateException.class, () -> client.getFaresBatch("A", "B", 5, null));
+    }
+
+    private HttpProviderProperties.Endpoint endpoint(int maxConcurrent, long acquireTimeoutMs) {
+        HttpProviderProperties.Endpoint endpoint = new HttpProviderProperties.Endpoint();
+        endpoint.setId("Acme");
+        endpoint.setName("Acme Rides");
+        endpoint.setUrl("http://127.0.0.1:" + server.getAddress().getPort()
+                + "/estimates?from={origin}&to={destination}&km={distanceKm}");
+        endpoint.setMaxConcurrent(maxConcurrent);
+        endpoint.setAcquireTimeoutMs(acquireTimeoutMs);
+        endpoint.setFaresPath("data.estimates");
+        endpoint.setFields(Map.of(
+                "price", "fare.amount",
+                "vehicle-type", "category",
+                "productName", "display",
+                "eta_minutes", "pickup_eta"));
+        return endpoint;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int now = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(now, Math::max);
+        try {
+            lastQuery.set(exchange.getRequestURI().getRawQuery());
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+            byte[] body = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+}
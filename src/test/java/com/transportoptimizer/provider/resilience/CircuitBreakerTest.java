@@ -0,0 +1,132 @@
+package com.transportoptimizer.provider.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    @Test
+    void opensOnceFailureRateCrossesThresholdAfterMinCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(props(10_000));
+
+        // 4 failures of 4 calls: below minCalls, no decision yet
+        for (int i = 0; i < 4; i++) {
+            record(breaker, 10, true);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        // 5th call reaches minCalls with a 100% failure rate
+        record(breaker, 10, true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void opensOnSlowCallRateEvenWithoutFailures() {
+        CircuitBreaker breaker = new CircuitBreaker(props(10_000));
+
+        for (int i = 0; i < 5; i++) {
+            record(breaker, 700, false);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void staysClosedBelowThresholds() {
+        CircuitBreaker breaker = new CircuitBreaker(props(10_000));
+
+        // 2 failures of 10 = 20% < 50%
+        for (int i = 0; i < 10; i++) {
+            record(breaker, 10, i < 2);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void halfOpenLetsOnlyTheProbesThroughThenCloses() {
+        CircuitBreaker breaker = tripped(props(0));
+
+        // open duration over → half-open with 2 probes
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.record(10, false);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        breaker.record(10, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        // fresh window: one failure is not enough to reopen
+        record(breaker, 10, true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void failedOrSlowProbeReopens() {
+        CircuitBreaker failed = tripped(props(0));
+        assertTrue(failed.tryAcquire());
+        failed.record(10, true);
+        assertEquals(CircuitBreaker.State.OPEN, failed.state());
+
+        CircuitBreaker slow = tripped(props(0));
+        assertTrue(slow.tryAcquire());
+        slow.record(700, false);
+        assertEquals(CircuitBreaker.State.OPEN, slow.state());
+    }
+
+    @Test
+    void releasedProbeIsHandedBack() {
+        CircuitBreaker breaker = tripped(props(0));
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+
+        // cancelled on our side → no outcome, probe reusable
+        breaker.release();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void releaseNeverAddsProbesBeyondThePermits() {
+        CircuitBreaker breaker = tripped(props(0));
+        assertTrue(breaker.tryAcquire());
+        breaker.release();
+        breaker.release();
+
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    private static CircuitBreaker tripped(ResilienceProperties props) {
+        CircuitBreaker breaker = new CircuitBreaker(props);
+        for (int i = 0; i < props.getMinCalls(); i++) {
+            record(breaker, 10, true);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        return breaker;
+    }
+
+    private static void record(CircuitBreaker breaker, long latencyMs, boolean failed) {
+        assertTrue(breaker.tryAcquire());
+        breaker.record(latencyMs, failed);
+    }
+
+    static ResilienceProperties props(long openDurationMs) {
+        ResilienceProperties props = new ResilienceProperties();
+        props.setWindowSize(10);
+        props.setMinCalls(5);
+        props.setFailureRateThreshold(0.5);
+        props.setSlowCallRateThreshold(0.8);
+        props.setSlowCallMs(600);
+        props.setOpenDurationMs(openDurationMs);
+        props.setHalfOpenPermits(2);
+        return props;
+    }
+}
@@ -0,0 +1,57 @@
+package com.transportoptimizer.provider.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyTrackerTest {
+
+    @Test
+    void percentilesOfRecordedSamples() {
+        LatencyTracker tracker = new LatencyTracker(100);
+        for (int ms = 100; ms >= 1; ms--) {
+            tracker.record(ms);
+        }
+
+        assertEquals(100, tracker.count());
+        assertEquals(50, tracker.percentile(0.50));
+        assertEquals(99, tracker.percentile(0.99));
+        assertEquals(1, tracker.percentile(0.0));
+        assertEquals(100, tracker.percentile(1.0));
+    }
+
+    @Test
+    void emptyTrackerHasNoPercentile() {
+        assertEquals(-1, new LatencyTracker(8).percentile(0.5));
+    }
+
+    @Test
+    void keepsOnlyTheMostRecentSamples() {
+        LatencyTracker tracker = new LatencyTracker(4);
+        for (int i = 0; i < 4; i++) {
+            tracker.record(1_000);
+        }
+        for (int i = 0; i < 4; i++) {
+            tracker.record(10);
+        }
+
+        assertEquals(4, tracker.count());
+        assertEquals(10, tracker.percentile(1.0));
+    }
+
+    @Test
+    void percentilesAreRefreshedEverySixteenSamples() {
+        LatencyTracker tracker = new LatencyTracker(64);
+        tracker.record(10);
+        assertEquals(10, tracker.percentile(1.0));
+
+        // cached until 16 more samples arrived
+        for (int i = 0; i < 15; i++) {
+            tracker.record(500);
+        }
+        assertEquals(10, tracker.percentile(1.0));
+
+        tracker.record(500);
+        assertEquals(500, tracker.percentile(1.0));
+    }
+}
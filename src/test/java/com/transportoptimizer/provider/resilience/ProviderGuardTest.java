@@ -0,0 +1,112 @@
+package com.transportoptimizer.provider.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProviderGuardTest {
+
+    @Test
+    void configuredTimeoutUntilEnoughSamples() {
+        ProviderGuard guard = new ProviderGuard("Uber", props());
+        for (int i = 0; i < 9; i++) {
+            guard.record(50, null);
+        }
+
+        assertEquals(800, guard.timeoutMs(800));
+        assertEquals(-1, guard.hedgeDelayMs());
+    }
+
+    @Test
+    void timeoutIsP99TimesMultiplierClampedToMinAndConfigured() {
+        ProviderGuard guard = new ProviderGuard("Uber", props());
+        // 1..100 ms → p99 = 99 → 99 * 1.5 = 148
+        for (int ms = 1; ms <= 100; ms++) {
+            guard.record(ms, null);
+        }
+
+        assertEquals(99, guard.p99());
+        assertEquals(148, guard.timeoutMs(800));
+        assertEquals(120, guard.timeoutMs(120));
+
+        ProviderGuard fast = new ProviderGuard("Metro", props());
+        for (int i = 0; i < 20; i++) {
+            fast.record(10, null);
+        }
+        // 15 ms → raised to minTimeoutMs
+        assertEquals(100, fast.timeoutMs(800));
+    }
+
+    @Test
+    void hedgesOnlyProvidersWithALongTail() {
+        ProviderGuard tail = new ProviderGuard("Ola", props());
+        for (int i = 0; i < 100; i++) {
+            tail.record(i < 90 ? 20 : 300, null);
+        }
+        // p99 300 > 3 * p50 20 → duplicate after p95
+        assertEquals(20, tail.p50());
+        assertEquals(300, tail.hedgeDelayMs());
+
+        ProviderGuard steady = new ProviderGuard("Rapido", props());
+        for (int i = 0; i < 100; i++) {
+            steady.record(40 + i % 10, null);
+        }
+        assertEquals(-1, steady.hedgeDelayMs());
+    }
+
+    @Test
+    void timeoutsCountTheirLatencyOtherFailuresDoNot() {
+        ProviderGuard guard = new ProviderGuard("Uber", props());
+        for (int i = 0; i < 10; i++) {
+            guard.record(5_000, new IOException("connection reset"));
+        }
+        assertEquals(-1, guard.p99());
+
+        guard.record(700, new TimeoutException());
+        assertEquals(700, guard.p99());
+    }
+
+    @Test
+    void cancelledCallDoesNotCountAsFailure() {
+        ProviderGuard guard = new ProviderGuard("Uber", props());
+
+        // every call abandoned by us (hedge loser, budget spent) → breaker stays closed
+        for (int i = 0; i < 50; i++) {
+            assertTrue(guard.tryAcquire());
+            guard.release();
+        }
+        assertEquals(0, guard.stateCode());
+        assertEquals(0, guard.rejected());
+    }
+
+    @Test
+    void openBreakerRejectsAndCounts() {
+        ResilienceProperties props = props();
+        props.setOpenDurationMs(60_000);
+        ProviderGuard guard = new ProviderGuard("Uber", props);
+        for (int i = 0; i < props.getMinCalls(); i++) {
+            assertTrue(guard.tryAcquire());
+            guard.record(10, new IOException("HTTP 503"));
+        }
+
+        assertEquals(2, guard.stateCode());
+        assertFalse(guard.tryAcquire());
+        assertEquals(1, guard.rejected());
+    }
+
+    private static ResilienceProperties props() {
+        ResilienceProperties props = CircuitBreakerTest.props(0);
+        props.setMinLatencySamples(10);
+        props.setTimeoutMultiplier(1.5);
+        props.setMinTimeoutMs(100);
+        props.setHedgeEnabled(true);
+        props.setHedgeTailRatio(3.0);
+        props.setHedgeDelayPercentile(0.95);
+        return props;
+    }
+}
@@ -0,0 +1,127 @@
+package com.transportoptimizer.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AhoCorasickTest {
+
+    @Test
+    void findsOverlappingAndNestedPatternsCaseInsensitive() {
+        AhoCorasick<String> matcher = AhoCorasick.<String>builder()
+                .add("delhi", "delhi")
+                .add("new delhi", "new-delhi")
+                .add("hi", "hi")
+                .add("Rajiv Chowk", "rajiv-chowk")
+                .build();
+
+        assertEquals(Set.of("delhi", "new-delhi", "hi", "rajiv-chowk"),
+                new HashSet<>(matcher.findAll("RAJIV CHOWK, New Delhi")));
+        assertEquals(List.of(), matcher.findAll("mumbai"));
+    }
+
+    @Test
+    void agreesWithNaiveContainsScan() {
+        List<String> stations = stations(1_200, new Random(7));
+        AhoCorasick<Integer> matcher = build(stations);
+        Random random = new Random(11);
+
+        for (int i = 0; i < 2_000; i++) {
+            String input = input(stations, random);
+            Set<Integer> expected = new HashSet<>();
+            for (int s = 0; s < stations.size(); s++) {
+                if (input.toLowerCase().contains(stations.get(s))) {
+                    expected.add(s);
+                }
+            }
+            assertEquals(expected, new HashSet<>(matcher.findAll(input)), input);
+        }
+    }
+
+    /**
+     * 1,200 stations, automaton vs the naive lowercase + contains scan.
+     * Reports timings only; excluded from the default build (see pom.xml).
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkAgainstNaiveScan() {
+        List<String> stations = stations(1_200, new Random(3));
+        AhoCorasick<Integer> matcher = build(stations);
+        Random random = new Random(5);
+        List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            inputs.add(input(stations, random));
+        }
+
+        long naiveNanos = 0;
+        long automatonNanos = 0;
+        int[] found = new int[2];
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            for (String input : inputs) {
+                String lower = input.toLowerCase();
+                for (String station : stations) {
+                    if (lower.contains(station)) {
+                        found[0]++;
+                    }
+                }
+            }
+            long t1 = System.nanoTime();
+            for (String input : inputs) {
+                matcher.scan(input, id -> found[1]++);
+            }
+            long t2 = System.nanoTime();
+
+            // first rounds warm up the JIT
+            if (round >= 2) {
+                naiveNanos += t1 - t0;
+                automatonNanos += t2 - t1;
+            }
+        }
+
+        int measured = 3 * inputs.size();
+        System.out.printf("AhoCorasick benchmark (%d stations, %d states): naive %.1f us/input, "
+                        + "automaton %.2f us/input, speedup %.0fx%n",
+                stations.size(), matcher.stateCount(),
+                naiveNanos / 1_000.0 / measured, automatonNanos / 1_000.0 / measured,
+                (double) naiveNanos / Math.max(1, automatonNanos));
+        // same work done by both, so neither loop was optimized away
+        assertEquals(found[0], found[1]);
+    }
+
+    private static AhoCorasick<Integer> build(List<String> stations) {
+        AhoCorasick.Builder<Integer> builder = AhoCorasick.builder();
+        for (int i = 0; i < stations.size(); i++) {
+            builder.add(stations.get(i), i);
+        }
+        return builder.build();
+    }
+
+    private static List<String> stations(int count, Random random) {
+        String[] parts = {"nagar", "chowk", "gate", "park", "bagh", "pur", "ganj", "vihar", "marg", "sector"};
+        Set<String> names = new HashSet<>();
+        while (names.size() < count) {
+            StringBuilder name = new StringBuilder();
+            for (int i = 0, len = 4 + random.nextInt(5); i < len; i++) {
+                name.append((char) ('a' + random.nextInt(26)));
+            }
+            name.append(' ').append(parts[random.nextInt(parts.length)]);
+            names.add(name.toString());
+        }
+        return new ArrayList<>(names);
+    }
+
+    private static String input(List<String> stations, Random random) {
+        String station = stations.get(random.nextInt(stations.size()));
+        return random.nextBoolean()
+                ? "Near " + station.toUpperCase() + " Metro, Block " + random.nextInt(50)
+                : "House " + random.nextInt(500) + ", Unknown Street, Some City";
+    }
+}
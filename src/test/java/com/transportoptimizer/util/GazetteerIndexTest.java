@@ -0,0 +1,63 @@
+package com.transportoptimizer.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class GazetteerIndexTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void mappedIndexAnswersLikeHeapIndex() throws Exception {
+        List<GazetteerIndex.Place> places = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            places.add(new GazetteerIndex.Place("place " + i, "city-" + (i % 7), 10 + i * 0.001, 70 + i * 0.002));
+        }
+        GazetteerIndex heap = GazetteerIndex.build(places);
+        Path file = tmp.resolve("gazetteer.idx");
+        heap.writeTo(file);
+        GazetteerIndex mapped = GazetteerIndex.open(file);
+
+        assertEquals(10_000, mapped.size());
+        for (int i = 0; i < 10_000; i += 97) {
+            int h = heap.find("place " + i);
+            int m = mapped.find("place " + i);
+            assertEquals(h, m);
+            assertEquals(places.get(i).lat(), mapped.lat(m), 1e-4);
+            assertEquals(places.get(i).lon(), mapped.lon(m), 1e-4);
+            assertEquals("city-" + (i % 7), mapped.city(m));
+        }
+        assertEquals(-1, mapped.find("unknown place"));
+    }
+
+    @Test
+    void sourceHashSurvivesTheFile() throws Exception {
+        long v1 = GazetteerIndex.fingerprint("rajiv chowk,delhi-ncr,28.63,77.22".getBytes());
+        long v2 = GazetteerIndex.fingerprint("rajiv chowk,delhi-ncr,28.64,77.22".getBytes());
+        assertNotEquals(v1, v2);
+
+        Path file = tmp.resolve("gazetteer.idx");
+        GazetteerIndex.build(List.of(new GazetteerIndex.Place("rajiv chowk", "delhi-ncr", 28.63, 77.22)), v1)
+                .writeTo(file);
+
+        assertEquals(v1, GazetteerIndex.open(file).sourceHash());
+    }
+
+    @Test
+    void duplicateNamesKeepFirstOccurrence() {
+        GazetteerIndex index = GazetteerIndex.build(List.of(
+                new GazetteerIndex.Place("airport", "delhi-ncr", 28.55, 77.10),
+                new GazetteerIndex.Place("airport", "mumbai", 19.08, 72.86)));
+
+        assertEquals(1, index.size());
+        assertEquals("delhi-ncr", index.city(index.find("airport")));
+    }
+}
@@ -0,0 +1,64 @@
+package com.transportoptimizer.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    @Test
+    void syncCallerDoesNotWaitForAsyncLeader() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        CompletableFuture<String> async = flight.executeAsync("k", () -> pending);
+        // would block forever if it joined the async leader
+        assertEquals("sync", flight.execute("k", () -> "sync"));
+
+        assertFalse(async.isDone());
+        pending.complete("async");
+        assertEquals("async", async.join());
+        assertEquals(2, flight.leaders());
+    }
+
+    @Test
+    void followerStopsWaitingAfterMaxWaitAndLoadsItself() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.execute("k", () -> {
+            loads.incrementAndGet();
+            leaderStarted.countDown();
+            await(releaseLeader);
+            return "leader";
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        assertEquals("follower", flight.execute("k", 50, () -> {
+            loads.incrementAndGet();
+            return "follower";
+        }));
+        assertEquals(1, flight.followerTimeouts());
+
+        releaseLeader.countDown();
+        assertEquals("leader", leader.get(5, TimeUnit.SECONDS));
+        assertEquals(2, loads.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}